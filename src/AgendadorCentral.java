@@ -0,0 +1,230 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Agendador único para toda a aplicação: física dos carros, atualização dos painéis,
+// expiração e pisca das notificações. Em vez de um javax.swing.Timer por carro e por evento,
+// um só Timer avança uma roda de tempo (timing wheel) com resolução de 10 ms; cada tarefa
+// fica na posição da roda correspondente ao tick em que vence. Agendar e cancelar são O(1),
+// e o número de Timers do Swing é sempre um, qualquer que seja o número de carros e eventos.
+//
+// As tarefas rodam no EDT, como rodavam com os Timers do Swing. Agendar e cancelar podem ser
+// feitos de qualquer thread.
+public final class AgendadorCentral {
+    static final int RESOLUCAO_MS = 10; // Períodos são arredondados para cima a múltiplos disso
+    private static final int TAMANHO_RODA = 512; // Potência de 2: 5,12 s por volta
+    private static final int MASCARA_RODA = TAMANHO_RODA - 1;
+    
+    private static final AgendadorCentral INSTANCIA = new AgendadorCentral();
+    
+    private final Tarefa[] posicoes = new Tarefa[TAMANHO_RODA]; // Início da lista de cada posição
+    private final List<Tarefa> vencidas = new ArrayList<>();      // Reaproveitada a cada tick (só no EDT)
+    private final javax.swing.Timer relogio;
+    private final long inicioNanos;
+    private long tickProcessado;
+    private int quantidadeTarefas;
+    private volatile long execucoes; // Escrito só no EDT; lido de qualquer thread
+    
+    private AgendadorCentral() {
+        this.inicioNanos = System.nanoTime();
+        this.tickProcessado = 0;
+        this.relogio = new javax.swing.Timer(RESOLUCAO_MS, e -> processar());
+        relogio.setCoalesce(true);
+    }
+    
+    public static AgendadorCentral getInstancia() {
+        return INSTANCIA;
+    }
+    
+    // Executa a ação uma vez depois do atraso
+    public Tarefa agendar(int atrasoMs, Runnable acao) {
+        Tarefa tarefa = new Tarefa(this, acao, 0);
+        tarefa.reagendar(atrasoMs);
+        return tarefa;
+    }
+    
+    // Executa a ação a cada período, começando depois de um período
+    public Tarefa agendarPeriodica(int periodoMs, Runnable acao) {
+        if (periodoMs <= 0) {
+            throw new IllegalArgumentException("O período deve ser positivo");
+        }
+        Tarefa tarefa = new Tarefa(this, acao, periodoMs);
+        tarefa.reagendar(periodoMs);
+        return tarefa;
+    }
+    
+    // Tarefa criada sem agendar, para ser ligada e desligada com reagendar()/cancelar()
+    // (ex.: repetição enquanto um botão está pressionado)
+    public Tarefa criarPeriodica(int periodoMs, Runnable acao) {
+        if (periodoMs <= 0) {
+            throw new IllegalArgumentException("O período deve ser positivo");
+        }
+        return new Tarefa(this, acao, periodoMs);
+    }
+    
+    public Tarefa criar(Runnable acao) {
+        return new Tarefa(this, acao, 0);
+    }
+    
+    private long tickAgora() {
+        return (System.nanoTime() - inicioNanos) / (RESOLUCAO_MS * 1_000_000L);
+    }
+    
+    private static long ticksPara(int atrasoMs) {
+        return Math.max(1, (atrasoMs + RESOLUCAO_MS - 1) / RESOLUCAO_MS);
+    }
+    
+    // Chamado com o lock do agendador
+    private void inserir(Tarefa tarefa, long tickAlvo) {
+        if (quantidadeTarefas == 0) {
+            tickProcessado = tickAgora(); // Roda parada: não há atraso a recuperar
+        }
+        tarefa.tickAlvo = Math.max(tickAlvo, tickProcessado + 1);
+        int posicao = (int) (tarefa.tickAlvo & MASCARA_RODA);
+        tarefa.anterior = null;
+        tarefa.proxima = posicoes[posicao];
+        if (tarefa.proxima != null) {
+            tarefa.proxima.anterior = tarefa;
+        }
+        posicoes[posicao] = tarefa;
+        tarefa.agendada = true;
+        
+        if (quantidadeTarefas++ == 0) {
+            relogio.start();
+        }
+    }
+    
+    // Chamado com o lock do agendador
+    private void remover(Tarefa tarefa) {
+        if (!tarefa.agendada) {
+            return;
+        }
+        if (tarefa.anterior != null) {
+            tarefa.anterior.proxima = tarefa.proxima;
+        } else {
+            posicoes[(int) (tarefa.tickAlvo & MASCARA_RODA)] = tarefa.proxima;
+        }
+        if (tarefa.proxima != null) {
+            tarefa.proxima.anterior = tarefa.anterior;
+        }
+        tarefa.anterior = null;
+        tarefa.proxima = null;
+        tarefa.agendada = false;
+        
+        if (--quantidadeTarefas == 0) {
+            relogio.stop();
+        }
+    }
+    
+    // Avança a roda até o tick atual e executa, fora do lock, as tarefas vencidas.
+    // Se o EDT ficou parado mais de uma volta, uma única passada pela roda inteira basta.
+    private void processar() {
+        synchronized (this) {
+            long agora = tickAgora();
+            long ticks = Math.min(agora - tickProcessado, TAMANHO_RODA);
+            for (long t = 1; t <= ticks; t++) {
+                int posicao = (int) ((tickProcessado + t) & MASCARA_RODA);
+                Tarefa tarefa = posicoes[posicao];
+                while (tarefa != null) {
+                    Tarefa proxima = tarefa.proxima;
+                    if (tarefa.tickAlvo <= agora) {
+                        remover(tarefa);
+                        tarefa.pendente = true;
+                        vencidas.add(tarefa);
+                    }
+                    tarefa = proxima;
+                }
+            }
+            tickProcessado = Math.max(tickProcessado, agora);
+            
+            // Periódicas voltam para a roda antes de rodar; se atrasaram mais de um período,
+            // as execuções perdidas são agrupadas numa só, como no Timer com coalesce
+            for (Tarefa tarefa : vencidas) {
+                if (tarefa.periodoMs > 0) {
+                    inserir(tarefa, Math.max(tarefa.tickAlvo + ticksPara(tarefa.periodoMs), agora + 1));
+                }
+            }
+        }
+        
+        // Uma tarefa com erro não para as outras. Depois que todas rodaram, o primeiro erro é
+        // relançado (os seguintes vão como suprimidos) e chega ao tratador de exceções do EDT,
+        // como chegaria com um Timer do Swing por tarefa
+        RuntimeException erro = null;
+        try {
+            for (int i = 0; i < vencidas.size(); i++) {
+                Tarefa tarefa = vencidas.get(i);
+                if (!tarefa.pendente) {
+                    continue; // Cancelada ou reagendada por uma tarefa anterior deste tick
+                }
+                tarefa.pendente = false;
+                execucoes++;
+                try {
+                    tarefa.acao.run();
+                } catch (RuntimeException e) {
+                    if (erro == null) {
+                        erro = e;
+                    } else {
+                        erro.addSuppressed(e);
+                    }
+                }
+            }
+        } finally {
+            vencidas.clear();
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+    
+    // Getters
+    public synchronized int getQuantidadeTarefas() { return quantidadeTarefas; }
+    public long getExecucoes() { return execucoes; }
+    public boolean estaRodando() { return relogio.isRunning(); }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("Agendador central: %d tarefas, %d execuções, roda de %d x %d ms",
+                           quantidadeTarefas, execucoes, TAMANHO_RODA, RESOLUCAO_MS);
+    }
+    
+    // Tarefa agendada; também é o nó da lista da sua posição na roda
+    public static final class Tarefa {
+        private final AgendadorCentral agendador;
+        private final Runnable acao;
+        private final int periodoMs; // 0 = executa uma vez
+        private long tickAlvo;
+        private boolean agendada;
+        private volatile boolean pendente; // Vencida e ainda não executada
+        private Tarefa anterior;
+        private Tarefa proxima;
+        
+        private Tarefa(AgendadorCentral agendador, Runnable acao, int periodoMs) {
+            this.agendador = agendador;
+            this.acao = acao;
+            this.periodoMs = periodoMs;
+        }
+        
+        // (Re)agenda para daqui a atrasoMs, substituindo o agendamento anterior
+        public void reagendar(int atrasoMs) {
+            synchronized (agendador) {
+                pendente = false;
+                agendador.remover(this);
+                agendador.inserir(this, agendador.tickAgora() + ticksPara(atrasoMs));
+            }
+        }
+        
+        public void cancelar() {
+            synchronized (agendador) {
+                pendente = false;
+                agendador.remover(this);
+            }
+        }
+        
+        public boolean estaAgendada() {
+            synchronized (agendador) {
+                return agendada;
+            }
+        }
+        
+        public int getPeriodoMs() { return periodoMs; }
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.ByteBuffer;
+
 public class CaixaDeMarcha {
     private double[] marchas;
     private int marchaAtual;
@@ -7,9 +9,9 @@ public class CaixaDeMarcha {
     
     // Constantes para as marchas padrão e funcionamento
     private static final double[] MARCHAS_PADRAO = {3.5, 2.0, 1.3, 1.0, 0.8}; // 5 marchas
-    private static final double RELACAO_MARCHA_RE = -3.0; // Relação negativa para marcha à ré
+    static final double RELACAO_MARCHA_RE = -3.0; // Relação negativa para marcha à ré
     private static final double EFICIENCIA_TRANSMISSAO = 0.95; // 95% de eficiência
-    private static final int MARCHA_NEUTRA = -1; // Índice especial para neutro
+    static final int MARCHA_NEUTRA = -1; // Índice especial para neutro
     
     // Construtor principal - agora só recebe motor e roda
     public CaixaDeMarcha(Motor motor, Roda roda) {
@@ -29,6 +31,25 @@ public class CaixaDeMarcha {
         this.emMarchaRe = false;
     }
     
+    // NOVO: Usa as marchas do modelo sem copiar; o array da especificação nunca é alterado
+    CaixaDeMarcha(Motor motor, Roda roda, EspecificacaoVeiculo especificacao) {
+        this.marchas = especificacao.getMarchasCompartilhadas();
+        this.motor = motor;
+        this.roda = roda;
+        this.marchaAtual = 0;
+        this.emMarchaRe = false;
+    }
+    
+    // NOVO: Estado para o CheckpointFrota (5 bytes)
+    void salvarEstado(ByteBuffer buffer) {
+        buffer.putInt(marchaAtual).put((byte) (emMarchaRe ? 1 : 0));
+    }
+    
+    void restaurarEstado(ByteBuffer buffer) {
+        marchaAtual = buffer.getInt();
+        emMarchaRe = buffer.get() != 0;
+    }
+    
     // Getters
     public double[] getMarchas() {
         return marchas.clone(); // Retorna cópia para manter encapsulamento
@@ -121,12 +142,16 @@ public class CaixaDeMarcha {
             return 0.0; // Neutro ou situação inválida
         }
         
+        return calcularTorqueTransmitido(motor.getTorque(), relacaoAtual);
+    }
+    
+    // NOVO: Cálculo sem estado, compartilhado com a FrotaCompacta
+    static double calcularTorqueTransmitido(double torqueMotor, double relacao) {
         // Calcula torque transmitido: Torque_saída = Torque_entrada × Relação × Eficiência
-        double torqueMotor = motor.getTorque();
-        double torqueTransmitido = torqueMotor * Math.abs(relacaoAtual) * EFICIENCIA_TRANSMISSAO;
+        double torqueTransmitido = torqueMotor * Math.abs(relacao) * EFICIENCIA_TRANSMISSAO;
         
         // Mantém sinal negativo para marcha à ré
-        if (relacaoAtual < 0) {
+        if (relacao < 0) {
             torqueTransmitido = -torqueTransmitido;
         }
         
@@ -134,15 +159,24 @@ public class CaixaDeMarcha {
     }
     
     public void enviarTorqueParaRoda() {
+        enviarTorqueParaRoda(1.0);
+    }
+    
+    // NOVO: fatorPasso é a duração do passo em múltiplos do passo padrão de 50 ms
+    public void enviarTorqueParaRoda(double fatorPasso) {
         if (roda != null) {
             double torqueTransmitido = aplicarTransmissao();
-            roda.receberForca(torqueTransmitido);
+            roda.receberForca(torqueTransmitido, fatorPasso);
         }
     }
     
     public void atualizar() {
+        atualizar(1.0);
+    }
+    
+    public void atualizar(double fatorPasso) {
         // Executa atualização completa da caixa de marcha
-        enviarTorqueParaRoda();
+        enviarTorqueParaRoda(fatorPasso);
         
         // Atualiza RPM da roda baseado no RPM do motor
         atualizarRpmRoda();
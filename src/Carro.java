@@ -1,3 +1,7 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class Carro {
     // Atributos básicos do carro
     private String modelo;
@@ -12,84 +16,557 @@ public class Carro {
     private CaixaDeMarcha caixaDeMarcha;
     private Painel painel;
     
-    // Timer para atualizações automáticas
-    private javax.swing.Timer timerAtualizacao;
+    // NOVO: Especificação do modelo, compartilhada com os outros carros do mesmo modelo
+    private final EspecificacaoVeiculo especificacao;
     
-    // Constantes para configuração padrão
-    private static final double CAPACIDADE_TANQUE = 50.0;
-    private static final double POTENCIA_MOTOR = 150.0;
-    private static final double RPM_MAXIMO = 7000.0;
-    private static final double RAIO_RODA = 0.3;
-    private static final double MASSA_VEICULO = 1200.0;
+    // NOVO: Acumuladores de consumo, distância e tempos da viagem atual
+    private final RegistroViagem viagem;
+    
+    // MODIFICADO: Atualizações automáticas pelo agendador central, sem um Timer por carro
+    private AgendadorCentral.Tarefa tarefaAtualizacao;
+    private double passoAtualizacao = PASSO_PADRAO;
+    
+    // NOVO: Contador de ticks e fotografia do último estado publicado, para leitura por outras threads
+    private long tick;
+    private volatile EstadoCarro estado;
+    
+    // NOVO: Ouvintes de telemetria notificados apenas quando algo visível muda
+    private final List<OuvinteTelemetria> ouvintes = new CopyOnWriteArrayList<>();
+    private long sequenciaNotificacoesPublicada;
+    
+    // NOVO: Tempo restante em que o carro é tratado como em transiente (após comandos ou corte do motor)
+    private double janelaTransiente;
+    private double taxaVelocidade; // |Δv|/Δt do último passo (km/h por segundo), usada pelo passo variável
+    
+    // NOVO: Chamado no próximo comando enquanto o carro está em repouso num EscalonadorFrota
+    private volatile Runnable aoDespertar;
+    
+    // NOVO: Diário onde os comandos deste carro são gravados, para reprodução posterior
+    private DiarioEntradas diario;
+    private int idDiario;
+    
+    // Constantes para configuração padrão (a especificação padrão fica em EspecificacaoVeiculo.PADRAO)
+    static final double PASSO_PADRAO = 0.05; // Passo de simulação em segundos (50 ms)
+    static final double COEFICIENTE_AERODINAMICO = 0.3;
     private static final String MODELO_PADRAO = "Sedan";
     private static final String MARCA_PADRAO = "AutoSim";
     private static final String COR_PADRAO = "Branco";
     
+    // NOVO: Passo variável (atualizarAdaptativo)
+    private static final double PASSO_MAXIMO_ADAPTATIVO = 1.0;       // Segundos
+    private static final double SUBPASSO_TRANSIENTE = PASSO_PADRAO / 5; // 10 ms
+    private static final double JANELA_TRANSIENTE = PASSO_PADRAO * 2;   // Duração tratada como transiente
+    private static final double ERRO_MAXIMO_PADRAO = 0.5;              // km/h por passo
+    
     // Construtor padrão
     public Carro() {
-        this.modelo = MODELO_PADRAO;
-        this.marca = MARCA_PADRAO;
-        this.cor = COR_PADRAO;
-        this.velocidadeAtual = 0.0;
-        
-        this.tanque = new Tanque(CAPACIDADE_TANQUE);
-        this.motor = new Motor(POTENCIA_MOTOR, RPM_MAXIMO, tanque);
-        this.roda = new Roda(RAIO_RODA, MASSA_VEICULO);
-        this.caixaDeMarcha = new CaixaDeMarcha(motor, roda);
-        this.painel = new Painel(this);
-        
-        iniciarTimerAtualizacao();
+        this(MARCA_PADRAO, MODELO_PADRAO, COR_PADRAO);
     }
     
     // Construtor alternativo com personalização
     public Carro(String marca, String modelo, String cor) {
+        this(marca, modelo, cor, true);
+    }
+    
+    // NOVO: Construtor que permite criar o carro sem interface (modo headless).
+    // Sem painel não há JFrame nem Timer: quem usa o carro chama atualizar(deltaTempo).
+    public Carro(String marca, String modelo, String cor, boolean comPainel) {
+        this(marca, modelo, cor, EspecificacaoVeiculo.PADRAO, comPainel);
+    }
+    
+    // NOVO: Construtor a partir de um modelo do catálogo
+    public Carro(String marca, EspecificacaoVeiculo especificacao, String cor, boolean comPainel) {
+        this(marca, especificacao.getNome(), cor, especificacao, comPainel);
+    }
+    
+    private Carro(String marca, String modelo, String cor, EspecificacaoVeiculo especificacao, boolean comPainel) {
         this.marca = marca;
         this.modelo = modelo;
         this.cor = cor;
         this.velocidadeAtual = 0.0;
+        this.especificacao = especificacao;
         
-        this.tanque = new Tanque(CAPACIDADE_TANQUE);
-        this.motor = new Motor(POTENCIA_MOTOR, RPM_MAXIMO, tanque);
-        this.roda = new Roda(RAIO_RODA, MASSA_VEICULO);
-        this.caixaDeMarcha = new CaixaDeMarcha(motor, roda);
-        this.painel = new Painel(this);
+        this.tanque = new Tanque(especificacao.getCapacidadeTanque());
+        this.motor = new Motor(especificacao.getPotenciaMaxima(), especificacao.getRpmMaximo(), tanque,
+                               especificacao.getCurvaTorque());
+        this.roda = new Roda(especificacao.getRaioRoda(), especificacao.getMassaVeiculo());
+        this.caixaDeMarcha = new CaixaDeMarcha(motor, roda, especificacao);
+        this.viagem = new RegistroViagem(especificacao.getQuantidadeMarchas());
+        this.tick = 0;
+        publicarEstado();
         
-        iniciarTimerAtualizacao();
+        if (comPainel) {
+            this.painel = new Painel(this);
+            iniciarTimerAtualizacao();
+        }
+    }
+    
+    // NOVO: Cria um carro sem painel e sem timer, para simulações em servidor
+    public static Carro criarSemPainel(String marca, String modelo, String cor) {
+        return new Carro(marca, modelo, cor, false);
+    }
+    
+    public static Carro criarSemPainel(String marca, EspecificacaoVeiculo especificacao, String cor) {
+        return new Carro(marca, especificacao, cor, false);
+    }
+    
+    // Usado na restauração, quando o nome do modelo pode diferir do nome da especificação
+    static Carro criarSemPainel(String marca, String modelo, String cor, EspecificacaoVeiculo especificacao) {
+        return new Carro(marca, modelo, cor, especificacao, false);
     }
     
     private void iniciarTimerAtualizacao() {
-        timerAtualizacao = new javax.swing.Timer(50, e -> atualizar());
-        timerAtualizacao.start();
+        double passo = passoAtualizacao;
+        int periodoMs = (int) Math.round(passo * 1000); // Exato: o passo é múltiplo da resolução do agendador
+        tarefaAtualizacao = AgendadorCentral.getInstancia()
+                .agendarPeriodica(periodoMs, () -> atualizar(passo));
+    }
+    
+    // NOVO: Passo da física do carro com painel, em segundos (padrão 0,05 s = 20 Hz).
+    // Um passo maior custa menos por carro; o painel interpola entre os ticks e continua suave.
+    // Passos fora de 0,01 s a 1 s são ignorados, assim como os que não são múltiplos da
+    // resolução do AgendadorCentral (10 ms): o período agendado é sempre igual ao passo integrado.
+    // Enquanto os comandos são gravados num DiarioEntradas, o passo não muda: o diário guarda
+    // um único passo no cabeçalho e a reprodução usa esse passo em todos os ticks.
+    public void setPassoAtualizacao(double segundos) {
+        if (!(segundos >= 0.01 && segundos <= 1.0) || diario != null) {
+            return;
+        }
+        long milissegundos = Math.round(segundos * 1000);
+        if (milissegundos % AgendadorCentral.RESOLUCAO_MS != 0
+                || Math.abs(segundos * 1000 - milissegundos) > 1e-6) {
+            return;
+        }
+        passoAtualizacao = milissegundos / 1000.0;
+        if (tarefaAtualizacao != null) {
+            tarefaAtualizacao.cancelar();
+            iniciarTimerAtualizacao();
+        }
+    }
+    
+    public double getPassoAtualizacao() {
+        return passoAtualizacao;
     }
     
     // MODIFICADO: Método atualizar com integração das notificações
     public void atualizar() {
+        atualizar(PASSO_PADRAO);
+    }
+    
+    // NOVO: Avança a simulação por deltaTempo segundos.
+    // As reduções de velocidade do carro foram calibradas para o passo padrão de 50 ms,
+    // por isso são escaladas proporcionalmente ao passo recebido.
+    public void atualizar(double deltaTempo) {
+        if (deltaTempo <= 0) {
+            return;
+        }
+        integrar(deltaTempo);
+        tick++;
+        publicarEstado();
+    }
+    
+    // Um passo de integração sem contar tick nem publicar o estado; o passo variável
+    // integra vários sub-passos e conta um único tick por chamada
+    private void integrar(double deltaTempo) {
+        double velocidadeAntes = velocidadeAtual;
+        double fatorPasso = deltaTempo / PASSO_PADRAO;
+        double consumidoAntes = motor.getCombustivelConsumido();
+        janelaTransiente = Math.max(0.0, janelaTransiente - deltaTempo);
+        
         if (motor.isLigado()) {
             // Atualiza motor (inclui consumo de combustível e verificação automática)
-            motor.atualizar(0.05);
+            motor.atualizar(deltaTempo);
             
             // Verifica se motor ainda está ligado após atualização
             if (motor.isLigado()) {
                 atualizarRpmMotor();
-                caixaDeMarcha.atualizar();
+                caixaDeMarcha.atualizar(fatorPasso);
                 
                 if (velocidadeAtual > 0) {
-                    roda.aplicarResistenciaAr(0.3);
-                    aplicarResistenciaNatural();
+                    roda.aplicarResistenciaAr(COEFICIENTE_AERODINAMICO);
+                    aplicarResistenciaNatural(fatorPasso);
                 }
             } else {
+                janelaTransiente = JANELA_TRANSIENTE;
                 // Motor desligou automaticamente - força desaceleração
                 if (velocidadeAtual > 0) {
-                    velocidadeAtual = Math.max(0, velocidadeAtual - 5.0);
+                    velocidadeAtual = Math.max(0, velocidadeAtual - 5.0 * fatorPasso);
                 }
             }
         } else {
             // Motor desligado - aplica desaceleração natural
             if (velocidadeAtual > 0) {
-                velocidadeAtual = Math.max(0, velocidadeAtual - 1.5);
+                velocidadeAtual = Math.max(0, velocidadeAtual - 1.5 * fatorPasso);
             }
             motor.setRPM(0.0);
         }
+        
+        viagem.registrar(deltaTempo, velocidadeAtual, motor.getCombustivelConsumido() - consumidoAntes,
+                         caixaDeMarcha.getMarchaAtual(), caixaDeMarcha.isEmMarchaRe(),
+                         motor.isLigado(), motor.estaEmZonaVermelha());
+        taxaVelocidade = Math.abs(velocidadeAtual - velocidadeAntes) / deltaTempo;
+    }
+    
+    // NOVO: Avança 'intervalo' segundos com passo variável e retorna quantos passos foram executados.
+    // Parado e desligado, o carro não muda e avança tudo de uma vez. Em regime (acelerador constante)
+    // dá passos longos até o próximo evento de combustível (reserva, crítico, vazio). Desacelerando,
+    // o passo é limitado para que a velocidade não mude mais que erroMaximo (km/h) por passo.
+    // Nos demais casos, o passo é limitado pela taxa de variação da velocidade medida no último
+    // passo. Logo após trocas de marcha e outros comandos ou cortes de combustível, usa sub-passos
+    // de 10 ms. O tick avança uma vez por chamada, como em atualizar(), qualquer que seja o número
+    // de sub-passos, e o estado é publicado só ao final.
+    public int atualizarAdaptativo(double intervalo) {
+        return atualizarAdaptativo(intervalo, ERRO_MAXIMO_PADRAO);
+    }
+    
+    public int atualizarAdaptativo(double intervalo, double erroMaximo) {
+        if (intervalo <= 0 || erroMaximo <= 0) {
+            return 0;
+        }
+        
+        int passos = 0;
+        double restante = intervalo;
+        while (restante > SUBPASSO_TRANSIENTE * 1e-6) {
+            double passo = Math.min(restante, calcularPassoAdaptativo(restante, erroMaximo));
+            integrar(passo);
+            restante -= passo;
+            passos++;
+        }
+        tick++;
+        publicarEstado();
+        return passos;
+    }
+    
+    private double calcularPassoAdaptativo(double restante, double erroMaximo) {
+        // Ponto fixo: motor desligado e parado
+        if (!motor.isLigado()) {
+            if (velocidadeAtual == 0) {
+                return restante;
+            }
+            // Desaceleração linear: passo exato até parar, limitado pelo erro
+            double taxaDesligado = 1.5 / PASSO_PADRAO;
+            return limitarPasso(Math.min(erroMaximo, velocidadeAtual) / taxaDesligado);
+        }
+        
+        if (janelaTransiente > 0) {
+            return SUBPASSO_TRANSIENTE;
+        }
+        
+        // Estimativa do erro pela mudança de estado: a velocidade não deve variar mais que
+        // erroMaximo por passo, na taxa medida no passo anterior. Em regime (inclusive parado
+        // na zona vermelha, no limite da marcha) a taxa é zero e o passo cresce.
+        double passo = PASSO_MAXIMO_ADAPTATIVO;
+        if (taxaVelocidade > 0) {
+            passo = Math.min(passo, erroMaximo / taxaVelocidade);
+        }
+        
+        // Desacelerando por resistência natural: velocidade, RPM e torque mudam a cada passo
+        if (motor.getAcelerador() == 0.0 && velocidadeAtual > 0) {
+            double taxaVelocidade = calcularResistenciaNatural(velocidadeAtual) / PASSO_PADRAO;
+            passo = Math.min(passo, erroMaximo / taxaVelocidade);
+        }
+        
+        // Para antes do próximo limiar de combustível e atravessa o limiar com sub-passos
+        double consumoPorSegundo = Motor.calcularConsumo(motor.getRPM(), motor.getTorque(),
+                                                         motor.getConsumoCombustivel(), 1.0);
+        if (consumoPorSegundo > 0) {
+            double tempoAteEvento = calcularLitrosAteEventoCombustivel() / consumoPorSegundo;
+            if (tempoAteEvento <= SUBPASSO_TRANSIENTE * 2) {
+                return SUBPASSO_TRANSIENTE;
+            }
+            passo = Math.min(passo, tempoAteEvento - SUBPASSO_TRANSIENTE);
+        }
+        return limitarPasso(passo);
+    }
+    
+    // NOVO: Avança 'passos' ticks de deltaTempo e retorna quantos deles foram saltados sem simular.
+    // Em cruzeiro (motor ligado, marcha engatada, acelerador constante) velocidade, RPM, torque e
+    // roda não mudam e o consumo por tick é constante, então o número de ticks até o próximo evento
+    // (tanque a 15%, a 5% ou vazio e, na faixa de aviso, cada novo valor exibido do percentual)
+    // sai direto da divisão dos litros pelo consumo. O carro salta
+    // até um tick antes do evento e o atravessa com ticks normais. Parado e desligado, o carro
+    // salta todo o restante; nos demais estados, só ticks normais.
+    public long avancarRapido(long passos, double deltaTempo) {
+        if (deltaTempo <= 0) {
+            return 0;
+        }
+        
+        long restantes = passos;
+        long saltados = 0;
+        while (restantes > 0) {
+            if (estaEmRepouso()) {
+                registrarRepouso(restantes * deltaTempo, restantes);
+                publicarEstado();
+                return saltados + restantes;
+            }
+            
+            long salto = Math.min(restantes, calcularTicksAteEvento(deltaTempo));
+            if (salto > 0) {
+                saltarCruzeiro(salto, deltaTempo);
+                restantes -= salto;
+                saltados += salto;
+            }
+            if (restantes > 0) {
+                atualizar(deltaTempo);
+                restantes--;
+            }
+        }
+        return saltados;
+    }
+    
+    public long avancarRapido(double duracao) {
+        return avancarRapido(Math.round(duracao / PASSO_PADRAO), PASSO_PADRAO);
+    }
+    
+    // NOVO: Cruzeiro estabelecido: o último tick já deixou RPM e torque no valor de regime
+    public boolean estaEmCruzeiro() {
+        if (!motor.isLigado() || motor.getAcelerador() <= 0 || janelaTransiente > 0) {
+            return false;
+        }
+        double relacao = caixaDeMarcha.getRelacaoAtual();
+        if (relacao == 0.0) {
+            return false;
+        }
+        double rpmRegime = calcularRpmMotor(velocidadeAtual, relacao, motor.getAcelerador(),
+                                            especificacao.getRpmMaximo());
+        return motor.getRPM() == rpmRegime;
+    }
+    
+    // NOVO: Ticks de deltaTempo que podem ser saltados antes do próximo evento; 0 fora de cruzeiro.
+    // A velocidade só muda em acelerar() e frear(), então em cruzeiro nunca chega ao limite
+    // de calcularVelocidadeMaximaMarcha: os únicos eventos são os de combustível.
+    public long calcularTicksAteEvento(double deltaTempo) {
+        if (deltaTempo <= 0 || !estaEmCruzeiro()) {
+            return 0;
+        }
+        double consumoPorTick = Motor.calcularConsumo(motor.getRPM(), motor.getTorque(),
+                                                      motor.getConsumoCombustivel(), deltaTempo);
+        if (consumoPorTick <= 0) {
+            return 0;
+        }
+        // Um tick de margem cobre o arredondamento entre o salto e a soma tick a tick
+        long ticks = (long) Math.floor(calcularLitrosAteEventoCombustivel() / consumoPorTick) - 1;
+        return Math.max(0, ticks);
+    }
+    
+    public double calcularTempoAteEvento() {
+        return calcularTicksAteEvento(PASSO_PADRAO) * PASSO_PADRAO;
+    }
+    
+    private void saltarCruzeiro(long ticks, double deltaTempo) {
+        double litros = Motor.calcularConsumo(motor.getRPM(), motor.getTorque(),
+                                              motor.getConsumoCombustivel(), deltaTempo) * ticks;
+        motor.consumirEmRegime(litros);
+        viagem.registrar(ticks * deltaTempo, velocidadeAtual, litros, caixaDeMarcha.getMarchaAtual(),
+                         caixaDeMarcha.isEmMarchaRe(), true, motor.estaEmZonaVermelha());
+        tick += ticks;
+        publicarEstado();
+    }
+    
+    // Litros até o próximo nível que muda o comportamento do motor (15%, 5% e tanque vazio).
+    // MODIFICADO: Na faixa de aviso (15% ou menos) o motor publica um aviso a cada novo valor
+    // exibido (décimos de ponto percentual), então a mudança do valor exibido também é um evento.
+    private double calcularLitrosAteEventoCombustivel() {
+        double nivel = tanque.getNivelAtual();
+        double capacidade = tanque.getCapacidadeMaxima();
+        double litros = 0.0;
+        double[] limiares = {capacidade * 0.15, capacidade * 0.05, 0.0};
+        for (double limiar : limiares) {
+            if (nivel > limiar) {
+                litros = nivel - limiar;
+                break;
+            }
+        }
+        
+        double percentual = tanque.getPercentualCombustivel();
+        if (percentual <= 15.0) {
+            // O valor exibido (arredondado a décimos) muda quando o percentual passa por baixo
+            // do meio décimo abaixo dele
+            double fronteira = (Math.round(percentual * 10.0) - 0.5) / 10.0;
+            litros = Math.min(litros, Math.max(0.0, nivel - capacidade * fronteira / 100));
+        }
+        return litros;
+    }
+    
+    private static double limitarPasso(double passo) {
+        return Math.max(SUBPASSO_TRANSIENTE, Math.min(passo, PASSO_MAXIMO_ADAPTATIVO));
+    }
+    
+    // NOVO: Comandos do motorista causam transientes (troca de marcha, partida, corte) que o
+    // passo variável precisa resolver com sub-passos
+    private void aposComando() {
+        janelaTransiente = JANELA_TRANSIENTE;
+        publicarEstado();
+    }
+    
+    // NOVO: Todo comando passa por aqui antes de mudar o estado: acorda o carro se estiver
+    // em repouso (contabilizando os ticks parados) e grava o comando no diário com o tick atual
+    private void antesDoComando(ComandoMotorista comando, double valor) {
+        despertar();
+        DiarioEntradas diarioAtual = diario;
+        if (diarioAtual != null) {
+            diarioAtual.gravar(tick, idDiario, comando, valor);
+        }
+    }
+    
+    // Usado pelo DiarioEntradas ao registrar o carro
+    void gravarComandosEm(DiarioEntradas diario, int idDiario) {
+        this.diario = diario;
+        this.idDiario = idDiario;
+    }
+    
+    DiarioEntradas getDiario() { return diario; }
+    int getIdDiario() { return idDiario; }
+    
+    // NOVO: Motor desligado e carro parado: atualizar() não muda mais nada além do tempo
+    public boolean estaEmRepouso() {
+        return !motor.isLigado() && velocidadeAtual == 0 && motor.getRPM() == 0;
+    }
+    
+    // Usados pelo EscalonadorFrota para tirar o carro da simulação enquanto está em repouso
+    void adormecer(Runnable aoDespertar) {
+        this.aoDespertar = aoDespertar;
+    }
+    
+    void despertar() {
+        Runnable despertar = aoDespertar;
+        if (despertar != null) {
+            aoDespertar = null;
+            despertar.run();
+        }
+    }
+    
+    void cancelarRepouso() {
+        this.aoDespertar = null;
+    }
+    
+    // Contabiliza o tempo passado em repouso, como se os ticks tivessem sido executados.
+    // Roda antes da publicação do comando que acordou o carro, então 'estado' ainda é o do repouso.
+    void registrarRepouso(double tempo, long ticksRepouso) {
+        if (tempo > 0) {
+            viagem.registrar(tempo, 0.0, 0.0, estado.getMarchaAtual(), estado.isEmMarchaRe(), false, false);
+        }
+        tick += ticksRepouso;
+    }
+    
+    // Contabiliza o tempo parado até agora sem acordar o carro, publicando o tick atualizado
+    void contabilizarRepouso(double tempo, long ticksRepouso) {
+        if (ticksRepouso > 0) {
+            registrarRepouso(tempo, ticksRepouso);
+            publicarEstado();
+        }
+    }
+    
+    // NOVO: Estado completo para o CheckpointFrota, num layout fixo de tamanhoEstado() bytes:
+    // tick, velocidade, janela de transiente, componentes e viagem
+    void salvarEstado(ByteBuffer buffer, int posicoesMarcha) {
+        buffer.putLong(tick).putDouble(velocidadeAtual).putDouble(janelaTransiente).putDouble(taxaVelocidade);
+        motor.salvarEstado(buffer);
+        tanque.salvarEstado(buffer);
+        caixaDeMarcha.salvarEstado(buffer);
+        roda.salvarEstado(buffer);
+        viagem.salvarEstado(buffer, posicoesMarcha);
+    }
+    
+    void restaurarEstado(ByteBuffer buffer, int posicoesMarcha) {
+        tick = buffer.getLong();
+        velocidadeAtual = buffer.getDouble();
+        janelaTransiente = buffer.getDouble();
+        taxaVelocidade = buffer.getDouble();
+        motor.restaurarEstado(buffer);
+        tanque.restaurarEstado(buffer);
+        caixaDeMarcha.restaurarEstado(buffer);
+        roda.restaurarEstado(buffer);
+        viagem.restaurarEstado(buffer, posicoesMarcha);
+        publicarEstado();
+    }
+    
+    static int tamanhoEstado(int posicoesMarcha) {
+        return 32 + 41 + 8 + 5 + 32 + RegistroViagem.tamanhoEstado(posicoesMarcha);
+    }
+    
+    // NOVO: Cópia sem painel com o mesmo modelo e o mesmo estado, inclusive a viagem.
+    // A cópia não herda ouvintes, diário de entradas nem notificações pendentes, mas sabe quais
+    // avisos do motor já foram publicados.
+    public Carro bifurcar() {
+        Carro copia = new Carro(marca, modelo, cor, especificacao, false);
+        int posicoes = especificacao.getQuantidadeMarchas() + RegistroViagem.POSICOES_ESPECIAIS;
+        ByteBuffer buffer = ByteBuffer.allocate(tamanhoEstado(posicoes));
+        salvarEstado(buffer, posicoes);
+        buffer.flip();
+        copia.restaurarEstado(buffer, posicoes);
+        copia.motor.copiarAvisosDe(motor); // Fora do checkpoint, mas necessário para continuar igual
+        return copia;
+    }
+    
+    // NOVO: Publica uma fotografia imutável do estado atual.
+    // Leitores em outras threads usam getEstado() e sempre veem valores de um mesmo tick.
+    private void publicarEstado() {
+        EstadoCarro anterior = estado;
+        EstadoCarro novo = EstadoCarro.capturar(tick, velocidadeAtual, motor, tanque, caixaDeMarcha, roda,
+                                                System.nanoTime());
+        estado = novo;
+        
+        if (!ouvintes.isEmpty()) {
+            notificarOuvintes(anterior, novo);
+        }
+    }
+    
+    private void notificarOuvintes(EstadoCarro anterior, EstadoCarro novo) {
+        int mudancas = novo.compararCom(anterior);
+        
+        long sequenciaNotificacoes = motor.getFilaNotificacoes().getSequencia();
+        if (sequenciaNotificacoes != sequenciaNotificacoesPublicada) {
+            sequenciaNotificacoesPublicada = sequenciaNotificacoes;
+            mudancas |= OuvinteTelemetria.NOTIFICACAO;
+        }
+        
+        if (mudancas == 0) {
+            return;
+        }
+        for (OuvinteTelemetria ouvinte : ouvintes) {
+            ouvinte.aoMudar(this, novo, mudancas);
+        }
+    }
+    
+    public void adicionarOuvinte(OuvinteTelemetria ouvinte) {
+        if (ouvinte != null) {
+            ouvintes.add(ouvinte);
+        }
+    }
+    
+    public void removerOuvinte(OuvinteTelemetria ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+    
+    // NOVO: Executa vários passos de simulação de uma vez, sem depender do relógio real.
+    // Útil para reproduzir ciclos de condução longos em poucos milissegundos.
+    public ResumoSimulacao simular(int passos, double deltaTempo) {
+        int passosExecutados = 0;
+        double combustivelInicial = tanque.getNivelAtual();
+        double velocidadeMaxima = velocidadeAtual;
+        double rpmMaximo = motor.getRPM();
+        double distancia = 0.0;
+        
+        if (deltaTempo > 0) {
+            for (int i = 0; i < passos; i++) {
+                atualizar(deltaTempo);
+                passosExecutados++;
+                
+                distancia += velocidadeAtual * deltaTempo / 3600.0; // km
+                if (velocidadeAtual > velocidadeMaxima) {
+                    velocidadeMaxima = velocidadeAtual;
+                }
+                if (motor.getRPM() > rpmMaximo) {
+                    rpmMaximo = motor.getRPM();
+                }
+            }
+        }
+        
+        return new ResumoSimulacao(passosExecutados, passosExecutados * deltaTempo,
+                                   velocidadeAtual, velocidadeMaxima, distancia,
+                                   combustivelInicial - tanque.getNivelAtual(),
+                                   motor.getRPM(), rpmMaximo, motor.isLigado());
     }
     
     // NOVO: Método para calcular RPM de forma correta
@@ -98,29 +575,50 @@ public class Carro {
             return;
         }
         
+        double rpmTotal = calcularRpmMotor(velocidadeAtual, caixaDeMarcha.getRelacaoAtual(),
+                                           motor.getAcelerador(), especificacao.getRpmMaximo());
+        motor.setRPM(rpmTotal);
+    }
+    
+    private void aplicarResistenciaNatural(double fatorPasso) {
+        if (motor.getAcelerador() == 0.0 && velocidadeAtual > 0) {
+            velocidadeAtual = Math.max(0, velocidadeAtual - calcularResistenciaNatural(velocidadeAtual) * fatorPasso);
+        }
+    }
+    
+    // NOVO: Regras de dirigibilidade sem estado, compartilhadas com a FrotaCompacta
+    static double calcularRpmMotor(double velocidade, double relacao, double acelerador, double rpmMaximo) {
         double rpmBase = 800.0;
-        double relacaoMarcha = Math.abs(caixaDeMarcha.getRelacaoAtual());
-        double rpmPorVelocidade = velocidadeAtual * relacaoMarcha * 25.0;
-        double rpmPorAcelerador = motor.getAcelerador() * 2000.0;
+        double relacaoMarcha = Math.abs(relacao);
+        double rpmPorVelocidade = velocidade * relacaoMarcha * 25.0;
+        double rpmPorAcelerador = acelerador * 2000.0;
         
         double rpmTotal = rpmBase + rpmPorVelocidade + rpmPorAcelerador;
-        rpmTotal = Math.min(rpmTotal, RPM_MAXIMO);
-        
-        motor.setRPM(rpmTotal);
+        return Math.min(rpmTotal, rpmMaximo);
     }
     
-    private void aplicarResistenciaNatural() {
-        if (motor.getAcelerador() == 0.0 && velocidadeAtual > 0) {
-            double resistencia = 0.2;
-            if (velocidadeAtual > 80) {
-                resistencia += 0.15;
-            }
-            velocidadeAtual = Math.max(0, velocidadeAtual - resistencia);
+    static double calcularResistenciaNatural(double velocidade) {
+        double resistencia = 0.2;
+        if (velocidade > 80) {
+            resistencia += 0.15;
         }
+        return resistencia;
+    }
+    
+    static double calcularIncrementoVelocidade(double torqueMotor, double relacao, double acelerador) {
+        double relacaoMarcha = Math.abs(relacao);
+        
+        double fatorConversao = 1.0 / relacaoMarcha;
+        double incrementoBase = torqueMotor * fatorConversao * 0.015;
+        double bonusAcelerador = acelerador * 0.4;
+        
+        double incrementoVelocidade = incrementoBase + bonusAcelerador;
+        return Math.min(incrementoVelocidade, 1.5);
     }
     
     // Métodos principais de controle do carro
     public boolean ligar() {
+        antesDoComando(ComandoMotorista.LIGAR, 0.0);
         if (motor.isLigado()) {
             return true;
         }
@@ -134,13 +632,16 @@ public class Carro {
             caixaDeMarcha.trocarMarcha(0);
         }
         
+        aposComando();
         return sucesso;
     }
     
     public void desligar() {
+        antesDoComando(ComandoMotorista.DESLIGAR, 0.0);
         motor.setAcelerador(0.0);
-        motor.desligar();
+        motor.desligarComNotificacao();
         caixaDeMarcha.colocarNeutro();
+        aposComando();
     }
     
     public void acelerar() {
@@ -148,6 +649,7 @@ public class Carro {
     }
     
     public void acelerar(double incremento) {
+        antesDoComando(ComandoMotorista.ACELERAR, incremento);
         if (!motor.isLigado() || caixaDeMarcha.estaEmNeutro()) {
             return;
         }
@@ -156,36 +658,34 @@ public class Carro {
         motor.setAcelerador(novoAcelerador);
         
         calcularVelocidadeComAceleracao();
+        aposComando();
     }
     
     private void calcularVelocidadeComAceleracao() {
         if (motor.getAcelerador() > 0 && !caixaDeMarcha.estaEmNeutro()) {
-            double torqueMotor = motor.getTorque();
-            double relacaoMarcha = Math.abs(caixaDeMarcha.getRelacaoAtual());
-            double acelerador = motor.getAcelerador();
-            
-            double fatorConversao = 1.0 / relacaoMarcha;
-            double incrementoBase = torqueMotor * fatorConversao * 0.015;
-            double bonusAcelerador = acelerador * 0.4;
-            
-            double incrementoVelocidade = incrementoBase + bonusAcelerador;
-            incrementoVelocidade = Math.min(incrementoVelocidade, 1.5);
-            
-            velocidadeAtual += incrementoVelocidade;
-            
-            double velocidadeMaximaMarcha = calcularVelocidadeMaximaMarcha();
-            if (velocidadeAtual > velocidadeMaximaMarcha) {
-                velocidadeAtual = velocidadeMaximaMarcha;
-            }
-            
-            if (velocidadeAtual > 200.0) {
-                velocidadeAtual = 200.0;
-            }
+            velocidadeAtual = calcularVelocidadeAcelerada(velocidadeAtual, motor.getTorque(),
+                                                          caixaDeMarcha.getRelacaoAtual(),
+                                                          motor.getAcelerador());
         }
     }
     
-    private double calcularVelocidadeMaximaMarcha() {
-        double relacaoMarcha = Math.abs(caixaDeMarcha.getRelacaoAtual());
+    static double calcularVelocidadeAcelerada(double velocidade, double torqueMotor, double relacao,
+                                              double acelerador) {
+        double novaVelocidade = velocidade + calcularIncrementoVelocidade(torqueMotor, relacao, acelerador);
+        
+        double velocidadeMaximaMarcha = calcularVelocidadeMaximaMarcha(relacao);
+        if (novaVelocidade > velocidadeMaximaMarcha) {
+            novaVelocidade = velocidadeMaximaMarcha;
+        }
+        
+        if (novaVelocidade > 200.0) {
+            novaVelocidade = 200.0;
+        }
+        return novaVelocidade;
+    }
+    
+    static double calcularVelocidadeMaximaMarcha(double relacao) {
+        double relacaoMarcha = Math.abs(relacao);
         
         if (relacaoMarcha > 3.0) return 60.0;
         else if (relacaoMarcha > 2.5) return 100.0;
@@ -199,6 +699,7 @@ public class Carro {
     }
     
     public void frear(double intensidade) {
+        antesDoComando(ComandoMotorista.FREAR, intensidade);
         double novoAcelerador = Math.max(0.0, motor.getAcelerador() - intensidade);
         motor.setAcelerador(novoAcelerador);
         
@@ -208,47 +709,67 @@ public class Carro {
         if (velocidadeAtual < 0.5) {
             velocidadeAtual = 0.0;
         }
+        aposComando();
     }
     
     public boolean subirMarcha() {
+        antesDoComando(ComandoMotorista.SUBIR_MARCHA, 0.0);
         if (!motor.isLigado()) {
             return false;
         }
         
         boolean sucesso = caixaDeMarcha.subirMarcha();
+        aposComando();
         return sucesso;
     }
     
     public boolean descerMarcha() {
+        antesDoComando(ComandoMotorista.DESCER_MARCHA, 0.0);
         if (!motor.isLigado()) {
             return false;
         }
         
         boolean sucesso = caixaDeMarcha.descerMarcha();
+        aposComando();
         return sucesso;
     }
     
     public boolean colocarMarchaRe() {
+        antesDoComando(ComandoMotorista.COLOCAR_MARCHA_RE, 0.0);
         if (!motor.isLigado() || velocidadeAtual > 5.0) {
             return false;
         }
         
-        return caixaDeMarcha.colocarMarchaRe();
+        boolean sucesso = caixaDeMarcha.colocarMarchaRe();
+        aposComando();
+        return sucesso;
     }
     
     public boolean colocarNeutro() {
-        return caixaDeMarcha.colocarNeutro();
+        antesDoComando(ComandoMotorista.COLOCAR_NEUTRO, 0.0);
+        boolean sucesso = caixaDeMarcha.colocarNeutro();
+        aposComando();
+        return sucesso;
     }
     
     public boolean abastecer(double litros) {
-        return tanque.abastecerCombustivel(litros);
+        antesDoComando(ComandoMotorista.ABASTECER, litros);
+        boolean sucesso = tanque.abastecerCombustivel(litros);
+        aposComando();
+        return sucesso;
     }
     
     // Getters para atributos básicos
     public String getModelo() { return modelo; }
     public String getMarca() { return marca; }
     public String getCor() { return cor; }
+    public EspecificacaoVeiculo getEspecificacao() { return especificacao; }
+    public RegistroViagem getViagem() { return viagem; }
     public double getVelocidadeAtual() { return velocidadeAtual; }
+    public long getTick() { return tick; }
+    
+    // NOVO: Estado consistente do último tick, seguro para leitura em qualquer thread
+    public EstadoCarro getEstado() { return estado; }
     
     // Getters para componentes
     public Tanque getTanque() { return tanque; }
@@ -256,6 +777,7 @@ public class Carro {
     public Roda getRoda() { return roda; }
     public CaixaDeMarcha getCaixaDeMarcha() { return caixaDeMarcha; }
     public Painel getPainel() { return painel; }
+    public boolean temPainel() { return painel != null; }
     
     // Métodos de informação
     public boolean estaLigado() { return motor.isLigado(); }
@@ -288,8 +810,8 @@ public class Carro {
     }
     
     public void fecharPainel() {
-        if (timerAtualizacao != null) {
-            timerAtualizacao.stop();
+        if (tarefaAtualizacao != null) {
+            tarefaAtualizacao.cancelar();
         }
         if (painel != null) {
             painel.fechar();
@@ -297,10 +819,17 @@ public class Carro {
     }
     
     public void resetar() {
-        desligar();
+        antesDoComando(ComandoMotorista.RESETAR, 0.0);
         motor.setAcelerador(0.0);
+        motor.desligar();
         caixaDeMarcha.colocarNeutro();
         velocidadeAtual = 0.0;
+        aposComando();
+    }
+    
+    // NOVO: Zera os acumuladores de consumo e tempos, começando uma nova viagem
+    public void iniciarViagem() {
+        viagem.reiniciar();
     }
     
     @Override
@@ -0,0 +1,129 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Catálogo de modelos de veículo, normalmente carregado de um arquivo texto.
+// Cada modelo é uma EspecificacaoVeiculo compartilhada por todos os carros criados a partir dele.
+//
+// Formato: uma linha por modelo, campos separados por ponto e vírgula:
+//   nome;potencia;rpmMaximo;capacidadeTanque;raioRoda;massa;marchas[;curva]
+// As marchas são separadas por vírgula (ex.: 3.5,2.0,1.3,1.0,0.8). O campo opcional curva
+// aponta para um arquivo de CurvaTorque, relativo ao diretório do catálogo.
+// Linhas vazias ou iniciadas por # são ignoradas.
+public class CatalogoModelos {
+    private final Map<String, EspecificacaoVeiculo> modelos;
+    
+    // Construtor: catálogo vazio
+    public CatalogoModelos() {
+        this.modelos = new LinkedHashMap<>();
+    }
+    
+    public static CatalogoModelos carregar(Path arquivo) throws IOException {
+        CatalogoModelos catalogo = new CatalogoModelos();
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        Map<Path, CurvaTorque> curvasCarregadas = new HashMap<>(); // Modelos com o mesmo arquivo dividem a curva
+        
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] campos = linha.split(";");
+                if (campos.length < 7) {
+                    throw new IllegalArgumentException("Linha " + numero + " inválida: esperado "
+                        + "nome;potencia;rpmMaximo;capacidadeTanque;raioRoda;massa;marchas[;curva]");
+                }
+                
+                String nome = campos[0].trim();
+                double potencia = lerNumero(campos[1], numero);
+                double rpmMaximo = lerNumero(campos[2], numero);
+                double capacidadeTanque = lerNumero(campos[3], numero);
+                double raioRoda = lerNumero(campos[4], numero);
+                double massa = lerNumero(campos[5], numero);
+                double[] marchas = lerMarchas(campos[6], numero);
+                
+                EspecificacaoVeiculo especificacao;
+                if (campos.length > 7 && !campos[7].isBlank()) {
+                    Path caminhoCurva = diretorio.resolve(campos[7].trim()).normalize();
+                    CurvaTorque curva = curvasCarregadas.get(caminhoCurva);
+                    if (curva == null) {
+                        curva = CurvaTorque.carregar(caminhoCurva);
+                        curvasCarregadas.put(caminhoCurva, curva);
+                    }
+                    especificacao = new EspecificacaoVeiculo(nome, potencia, rpmMaximo, capacidadeTanque,
+                                                             raioRoda, massa, marchas, curva);
+                } else {
+                    especificacao = new EspecificacaoVeiculo(nome, potencia, rpmMaximo, capacidadeTanque,
+                                                             raioRoda, massa, marchas);
+                }
+                
+                if (!catalogo.adicionar(especificacao)) {
+                    throw new IllegalArgumentException("Linha " + numero + ": modelo repetido: " + nome);
+                }
+            }
+        }
+        return catalogo;
+    }
+    
+    private static double lerNumero(String campo, int numeroLinha) {
+        try {
+            return Double.parseDouble(campo.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + ": número inválido: " + campo.trim());
+        }
+    }
+    
+    private static double[] lerMarchas(String campo, int numeroLinha) {
+        String[] partes = campo.split(",");
+        double[] marchas = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            marchas[i] = lerNumero(partes[i], numeroLinha);
+        }
+        return marchas;
+    }
+    
+    // Retorna false se o nome do modelo já existe no catálogo
+    public boolean adicionar(EspecificacaoVeiculo especificacao) {
+        if (especificacao == null || modelos.containsKey(especificacao.getNome())) {
+            return false;
+        }
+        modelos.put(especificacao.getNome(), especificacao);
+        return true;
+    }
+    
+    // Retorna null se o modelo não existe
+    public EspecificacaoVeiculo obter(String nome) {
+        return modelos.get(nome);
+    }
+    
+    // Cria um carro sem painel do modelo informado; null se o modelo não existe
+    public Carro criarCarro(String nomeModelo, String marca, String cor) {
+        EspecificacaoVeiculo especificacao = modelos.get(nomeModelo);
+        if (especificacao == null) {
+            return null;
+        }
+        return Carro.criarSemPainel(marca, especificacao, cor);
+    }
+    
+    // Getters
+    public List<EspecificacaoVeiculo> getModelos() { return new ArrayList<>(modelos.values()); }
+    public int getQuantidadeModelos() { return modelos.size(); }
+    public boolean contem(String nome) { return modelos.containsKey(nome); }
+    
+    @Override
+    public String toString() {
+        return String.format("Catálogo: %d modelos %s", modelos.size(), modelos.keySet());
+    }
+}
@@ -0,0 +1,85 @@
+import java.util.Arrays;
+
+// Variantes de um mesmo estado inicial para estudos de Monte Carlo (mesmo combustível e marcha,
+// roteiros de motorista diferentes). Enquanto uma variante não recebe comandos, seu estado é
+// idêntico ao das outras, então todas compartilham um único carro "tronco" que é simulado uma vez.
+// Só quando a variante recebe o primeiro comando o tronco é copiado para um carro próprio
+// (cópia na escrita). Assim, milhares de variantes não criam milhares de carros de uma vez,
+// e nenhuma cria Painel nem Timer.
+public class CenarioBifurcado {
+    private final Carro tronco;
+    private final Carro[] variantes;   // null enquanto a variante compartilha o tronco
+    private int[] divergentes;         // Índices das variantes com carro próprio, na ordem em que divergiram
+    private int quantidadeDivergentes;
+    
+    // O carro de origem não é alterado; o tronco começa como uma cópia dele
+    public CenarioBifurcado(Carro origem, int quantidadeVariantes) {
+        if (quantidadeVariantes <= 0) {
+            throw new IllegalArgumentException("O cenário precisa de pelo menos uma variante");
+        }
+        this.tronco = origem.bifurcar();
+        this.variantes = new Carro[quantidadeVariantes];
+        this.divergentes = new int[Math.min(quantidadeVariantes, 16)];
+        this.quantidadeDivergentes = 0;
+    }
+    
+    // Carro próprio da variante, copiado do tronco na primeira chamada.
+    // Use antes de mudar qualquer coisa na variante.
+    public Carro paraEscrita(int variante) {
+        Carro carro = variantes[variante];
+        if (carro == null) {
+            carro = tronco.bifurcar();
+            variantes[variante] = carro;
+            if (quantidadeDivergentes == divergentes.length) {
+                divergentes = Arrays.copyOf(divergentes, Math.min(variantes.length, divergentes.length * 2));
+            }
+            divergentes[quantidadeDivergentes++] = variante;
+        }
+        return carro;
+    }
+    
+    public void aplicar(int variante, ComandoMotorista comando, double valor) {
+        comando.aplicar(paraEscrita(variante), valor);
+    }
+    
+    // Avança o tronco (se alguma variante ainda o usa) e cada variante com carro próprio
+    public void passo(double deltaTempo) {
+        if (quantidadeDivergentes < variantes.length) {
+            tronco.atualizar(deltaTempo);
+        }
+        for (int k = 0; k < quantidadeDivergentes; k++) {
+            variantes[divergentes[k]].atualizar(deltaTempo);
+        }
+    }
+    
+    public void executar(int passos, double deltaTempo) {
+        for (int p = 0; p < passos; p++) {
+            passo(deltaTempo);
+        }
+    }
+    
+    // Leitura sem cópia: variantes que não divergiram mostram o estado do tronco
+    public EstadoCarro getEstado(int variante) {
+        Carro carro = variantes[variante];
+        return carro != null ? carro.getEstado() : tronco.getEstado();
+    }
+    
+    public RegistroViagem getViagem(int variante) {
+        Carro carro = variantes[variante];
+        return carro != null ? carro.getViagem() : tronco.getViagem();
+    }
+    
+    public boolean divergiu(int variante) {
+        return variantes[variante] != null;
+    }
+    
+    // Getters
+    public int getQuantidadeVariantes() { return variantes.length; }
+    public int getQuantidadeDivergentes() { return quantidadeDivergentes; }
+    
+    @Override
+    public String toString() {
+        return String.format("Cenário bifurcado: %d variantes, %d divergentes, tick %d do tronco",
+                           variantes.length, quantidadeDivergentes, tronco.getTick());
+    }
+}
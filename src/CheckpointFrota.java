@@ -0,0 +1,429 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Checkpoint binário de uma frota inteira, para retomar simulações longas depois de um
+// reinício. Nada de serialização Java: o estado vai em layout fixo por um buffer direto de 4 MB
+// escrito no FileChannel, e a FrotaCompacta é copiada coluna a coluna em blocos.
+//
+// O arquivo começa com MAGICO, VERSAO, o tipo (carros ou frota compacta) e a tabela de modelos
+// (nome e parâmetros). Na restauração, os modelos são procurados pelo nome no catálogo
+// informado, para reaproveitar curvas de torque carregadas de arquivo; sem catálogo, são
+// recriados a partir dos parâmetros, com a curva calculada.
+//
+// O arquivo é escrito primeiro em .tmp e depois renomeado, para que uma queda no meio da
+// gravação não estrague o último checkpoint. Os carros não podem ser atualizados durante salvar().
+public final class CheckpointFrota {
+    static final int MAGICO = 0x43484B46;
+    static final int VERSAO = 2; // 2: taxa de variação da velocidade no estado do Carro
+    private static final byte TIPO_CARROS = 1;
+    private static final byte TIPO_FROTA_COMPACTA = 2;
+    private static final int TAMANHO_BUFFER = 4 << 20;
+    
+    private CheckpointFrota() {
+        // Só métodos estáticos
+    }
+    
+    // ===== Carros =====
+    
+    public static void salvar(Path arquivo, List<Carro> carros) throws IOException {
+        // Tabelas de modelos e de textos (marca, modelo, cor), referenciadas por índice em cada carro
+        Map<EspecificacaoVeiculo, Integer> indiceModelos = new IdentityHashMap<>();
+        List<EspecificacaoVeiculo> modelos = new ArrayList<>();
+        Map<String, Integer> indiceTextos = new HashMap<>();
+        List<String> textos = new ArrayList<>();
+        int posicoes = RegistroViagem.POSICOES_ESPECIAIS;
+        for (Carro carro : carros) {
+            EspecificacaoVeiculo especificacao = carro.getEspecificacao();
+            if (!indiceModelos.containsKey(especificacao)) {
+                indiceModelos.put(especificacao, modelos.size());
+                modelos.add(especificacao);
+                posicoes = Math.max(posicoes, especificacao.getQuantidadeMarchas() + RegistroViagem.POSICOES_ESPECIAIS);
+            }
+            indexarTexto(carro.getMarca(), indiceTextos, textos);
+            indexarTexto(carro.getModelo(), indiceTextos, textos);
+            indexarTexto(carro.getCor(), indiceTextos, textos);
+        }
+        int tamanhoRegistro = 16 + Carro.tamanhoEstado(posicoes);
+        
+        try (Escrita escrita = new Escrita(arquivo)) {
+            escrita.cabecalho(TIPO_CARROS, modelos);
+            escrita.garantir(4);
+            escrita.buffer.putInt(textos.size());
+            for (String texto : textos) {
+                escrita.texto(texto);
+            }
+            escrita.garantir(12);
+            escrita.buffer.putInt(carros.size()).putInt(posicoes).putInt(tamanhoRegistro);
+            
+            for (Carro carro : carros) {
+                escrita.garantir(tamanhoRegistro);
+                escrita.buffer.putInt(indiceModelos.get(carro.getEspecificacao()))
+                              .putInt(indiceTextos.get(carro.getMarca()))
+                              .putInt(indiceTextos.get(carro.getModelo()))
+                              .putInt(indiceTextos.get(carro.getCor()));
+                carro.salvarEstado(escrita.buffer, posicoes);
+            }
+            escrita.concluir();
+        }
+    }
+    
+    // O tempo parado dos carros em repouso no escalonador é contabilizado antes, sem acordá-los,
+    // para que os ticks parados entrem no estado salvo
+    public static void salvar(Path arquivo, EscalonadorFrota escalonador) throws IOException {
+        escalonador.contabilizarRepouso();
+        salvar(arquivo, escalonador.getCarros());
+    }
+    
+    private static void indexarTexto(String texto, Map<String, Integer> indice, List<String> textos) {
+        if (!indice.containsKey(texto)) {
+            indice.put(texto, textos.size());
+            textos.add(texto);
+        }
+    }
+    
+    public static List<Carro> restaurarCarros(Path arquivo) throws IOException {
+        return restaurarCarros(arquivo, null);
+    }
+    
+    // Recria os carros sem painel, na mesma ordem em que foram salvos
+    public static List<Carro> restaurarCarros(Path arquivo, CatalogoModelos catalogo) throws IOException {
+        try (Leitura leitura = new Leitura(arquivo)) {
+            EspecificacaoVeiculo[] modelos = leitura.cabecalho(TIPO_CARROS, catalogo);
+            leitura.garantir(4);
+            String[] textos = new String[leitura.buffer.getInt()];
+            for (int t = 0; t < textos.length; t++) {
+                textos[t] = leitura.texto();
+            }
+            leitura.garantir(12);
+            int quantidade = leitura.buffer.getInt();
+            int posicoes = leitura.buffer.getInt();
+            int tamanhoRegistro = leitura.buffer.getInt();
+            if (tamanhoRegistro != 16 + Carro.tamanhoEstado(posicoes)) {
+                throw new IOException("Checkpoint com registro de tamanho inesperado: " + tamanhoRegistro);
+            }
+            
+            List<Carro> carros = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                leitura.garantir(tamanhoRegistro);
+                EspecificacaoVeiculo especificacao = modelos[leitura.buffer.getInt()];
+                String marca = textos[leitura.buffer.getInt()];
+                String modelo = textos[leitura.buffer.getInt()];
+                String cor = textos[leitura.buffer.getInt()];
+                Carro carro = Carro.criarSemPainel(marca, modelo, cor, especificacao);
+                carro.restaurarEstado(leitura.buffer, posicoes);
+                carros.add(carro);
+            }
+            return carros;
+        }
+    }
+    
+    // ===== Frota compacta =====
+    
+    public static void salvar(Path arquivo, FrotaCompacta frota) throws IOException {
+        int tamanho = frota.getTamanho();
+        int capacidade = frota.getCapacidade();
+        
+        try (Escrita escrita = new Escrita(arquivo)) {
+            escrita.cabecalho(TIPO_FROTA_COMPACTA, List.of(frota.getModelos()));
+            escrita.garantir(12);
+            escrita.buffer.putInt(capacidade).putInt(tamanho).putInt(frota.getPosicoesMarcha());
+            
+            for (double[] coluna : frota.getColunasDouble()) {
+                escrita.coluna(coluna, elementosPorCarro(coluna.length, capacidade) * tamanho);
+            }
+            for (int[] coluna : frota.getColunasInt()) {
+                escrita.coluna(coluna, tamanho);
+            }
+            for (long[] coluna : frota.getColunasBits()) {
+                escrita.coluna(coluna, (tamanho + 63) >>> 6);
+            }
+            escrita.concluir();
+        }
+    }
+    
+    public static FrotaCompacta restaurarFrota(Path arquivo) throws IOException {
+        return restaurarFrota(arquivo, null);
+    }
+    
+    public static FrotaCompacta restaurarFrota(Path arquivo, CatalogoModelos catalogo) throws IOException {
+        try (Leitura leitura = new Leitura(arquivo)) {
+            EspecificacaoVeiculo[] modelos = leitura.cabecalho(TIPO_FROTA_COMPACTA, catalogo);
+            leitura.garantir(12);
+            int capacidade = leitura.buffer.getInt();
+            int tamanho = leitura.buffer.getInt();
+            int posicoes = leitura.buffer.getInt();
+            
+            FrotaCompacta frota = new FrotaCompacta(capacidade, modelos);
+            if (frota.getPosicoesMarcha() != posicoes || tamanho > capacidade) {
+                throw new IOException("Checkpoint de frota inconsistente com os modelos");
+            }
+            for (double[] coluna : frota.getColunasDouble()) {
+                leitura.coluna(coluna, elementosPorCarro(coluna.length, capacidade) * tamanho);
+            }
+            for (int[] coluna : frota.getColunasInt()) {
+                leitura.coluna(coluna, tamanho);
+            }
+            for (long[] coluna : frota.getColunasBits()) {
+                leitura.coluna(coluna, (tamanho + 63) >>> 6);
+            }
+            frota.restaurarTamanho(tamanho);
+            return frota;
+        }
+    }
+    
+    // tempoPorMarcha tem posicoesMarcha elementos por carro; as demais colunas, um
+    private static int elementosPorCarro(int tamanhoColuna, int capacidade) {
+        return capacidade > 0 ? tamanhoColuna / capacidade : 0;
+    }
+    
+    // ===== Arquivo =====
+    
+    private static final class Escrita implements AutoCloseable {
+        private final Path arquivo;
+        private final Path temporario;
+        private final FileChannel canal;
+        private final ByteBuffer buffer;
+        private boolean concluida;
+        
+        Escrita(Path arquivo) throws IOException {
+            this.arquivo = arquivo;
+            this.temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                          StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            this.concluida = false;
+        }
+        
+        void cabecalho(byte tipo, List<EspecificacaoVeiculo> modelos) throws IOException {
+            garantir(13);
+            buffer.putInt(MAGICO).putInt(VERSAO).put(tipo).putInt(modelos.size());
+            for (EspecificacaoVeiculo modelo : modelos) {
+                texto(modelo.getNome());
+                double[] marchas = modelo.getMarchas();
+                garantir(44 + 8 * marchas.length);
+                buffer.putDouble(modelo.getPotenciaMaxima()).putDouble(modelo.getRpmMaximo())
+                      .putDouble(modelo.getCapacidadeTanque()).putDouble(modelo.getRaioRoda())
+                      .putDouble(modelo.getMassaVeiculo()).putInt(marchas.length);
+                for (double marcha : marchas) {
+                    buffer.putDouble(marcha);
+                }
+            }
+        }
+        
+        void texto(String texto) throws IOException {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            garantir(4 + bytes.length);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        
+        // Copia em blocos do tamanho do buffer
+        void coluna(double[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(8);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 8);
+                buffer.asDoubleBuffer().put(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 8);
+                feitos += n;
+            }
+        }
+        
+        void coluna(int[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(4);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 4);
+                buffer.asIntBuffer().put(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 4);
+                feitos += n;
+            }
+        }
+        
+        void coluna(long[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(8);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 8);
+                buffer.asLongBuffer().put(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 8);
+                feitos += n;
+            }
+        }
+        
+        // Esvazia o buffer no arquivo se não couberem mais bytes
+        void garantir(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                descarregar();
+            }
+        }
+        
+        private void descarregar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+        
+        // Só depois de tudo escrito o checkpoint substitui o anterior
+        void concluir() throws IOException {
+            descarregar();
+            canal.force(false);
+            canal.close();
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            concluida = true;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (!concluida) {
+                canal.close();
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+    
+    private static final class Leitura implements AutoCloseable {
+        private final FileChannel canal;
+        private final ByteBuffer buffer;
+        
+        Leitura(Path arquivo) throws IOException {
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip(); // Começa vazio, pronto para leitura
+        }
+        
+        EspecificacaoVeiculo[] cabecalho(byte tipo, CatalogoModelos catalogo) throws IOException {
+            garantir(13);
+            if (buffer.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é um checkpoint de frota");
+            }
+            int versao = buffer.getInt();
+            if (versao != VERSAO) {
+                throw new IOException("Versão de checkpoint não suportada: " + versao);
+            }
+            if (buffer.get() != tipo) {
+                throw new IOException("Tipo de checkpoint diferente do esperado");
+            }
+            
+            EspecificacaoVeiculo[] modelos = new EspecificacaoVeiculo[buffer.getInt()];
+            for (int m = 0; m < modelos.length; m++) {
+                String nome = texto();
+                garantir(44);
+                double potencia = buffer.getDouble();
+                double rpmMaximo = buffer.getDouble();
+                double capacidadeTanque = buffer.getDouble();
+                double raioRoda = buffer.getDouble();
+                double massa = buffer.getDouble();
+                double[] marchas = new double[buffer.getInt()];
+                garantir(8 * marchas.length);
+                for (int k = 0; k < marchas.length; k++) {
+                    marchas[k] = buffer.getDouble();
+                }
+                modelos[m] = resolverModelo(catalogo, nome, potencia, rpmMaximo, capacidadeTanque,
+                                            raioRoda, massa, marchas);
+            }
+            return modelos;
+        }
+        
+        String texto() throws IOException {
+            garantir(4);
+            byte[] bytes = new byte[buffer.getInt()];
+            garantir(bytes.length);
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        void coluna(double[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(8);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 8);
+                buffer.asDoubleBuffer().get(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 8);
+                feitos += n;
+            }
+        }
+        
+        void coluna(int[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(4);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 4);
+                buffer.asIntBuffer().get(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 4);
+                feitos += n;
+            }
+        }
+        
+        void coluna(long[] coluna, int quantidade) throws IOException {
+            for (int feitos = 0; feitos < quantidade; ) {
+                garantir(8);
+                int n = Math.min(quantidade - feitos, buffer.remaining() / 8);
+                buffer.asLongBuffer().get(coluna, feitos, n);
+                buffer.position(buffer.position() + n * 8);
+                feitos += n;
+            }
+        }
+        
+        // Lê do arquivo até haver pelo menos bytes disponíveis no buffer
+        void garantir(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            if (bytes > buffer.capacity()) {
+                throw new IOException("Checkpoint corrompido: registro de " + bytes + " bytes");
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (canal.read(buffer) < 0) {
+                    throw new IOException("Checkpoint incompleto");
+                }
+            }
+            buffer.flip();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+    
+    // Prefere o modelo do catálogo com o mesmo nome, desde que os parâmetros salvos coincidam:
+    // o estado dos carros (marcha, nível do tanque, tempo por marcha) só vale para o mesmo modelo.
+    // O padrão é reaproveitado se os parâmetros coincidirem; senão, recria a especificação a
+    // partir dos parâmetros salvos
+    private static EspecificacaoVeiculo resolverModelo(CatalogoModelos catalogo, String nome, double potencia,
+                                                       double rpmMaximo, double capacidadeTanque, double raioRoda,
+                                                       double massa, double[] marchas) throws IOException {
+        if (catalogo != null && catalogo.contem(nome)) {
+            EspecificacaoVeiculo doCatalogo = catalogo.obter(nome);
+            if (!mesmosParametros(doCatalogo, potencia, rpmMaximo, capacidadeTanque, raioRoda, massa, marchas)) {
+                throw new IOException("Modelo " + nome + " do catálogo difere do modelo salvo no checkpoint");
+            }
+            return doCatalogo;
+        }
+        EspecificacaoVeiculo padrao = EspecificacaoVeiculo.PADRAO;
+        if (nome.equals(padrao.getNome())
+                && mesmosParametros(padrao, potencia, rpmMaximo, capacidadeTanque, raioRoda, massa, marchas)) {
+            return padrao;
+        }
+        return new EspecificacaoVeiculo(nome, potencia, rpmMaximo, capacidadeTanque, raioRoda, massa, marchas);
+    }
+    
+    private static boolean mesmosParametros(EspecificacaoVeiculo especificacao, double potencia, double rpmMaximo,
+                                            double capacidadeTanque, double raioRoda, double massa, double[] marchas) {
+        return potencia == especificacao.getPotenciaMaxima() && rpmMaximo == especificacao.getRpmMaximo()
+                && capacidadeTanque == especificacao.getCapacidadeTanque()
+                && raioRoda == especificacao.getRaioRoda() && massa == especificacao.getMassaVeiculo()
+                && Arrays.equals(marchas, especificacao.getMarchas());
+    }
+}
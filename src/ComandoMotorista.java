@@ -0,0 +1,54 @@
+// Comandos que o motorista pode dar ao carro, com um código fixo de um byte
+// usado no DiarioEntradas. Os códigos não devem mudar, para que diários antigos
+// continuem sendo reproduzidos.
+public enum ComandoMotorista {
+    LIGAR(1),
+    DESLIGAR(2),
+    ACELERAR(3),          // valor = incremento do acelerador
+    FREAR(4),             // valor = intensidade
+    SUBIR_MARCHA(5),
+    DESCER_MARCHA(6),
+    COLOCAR_MARCHA_RE(7),
+    COLOCAR_NEUTRO(8),
+    ABASTECER(9),         // valor = litros
+    RESETAR(10);
+    
+    private static final ComandoMotorista[] POR_CODIGO = new ComandoMotorista[16];
+    
+    static {
+        for (ComandoMotorista comando : values()) {
+            POR_CODIGO[comando.codigo] = comando;
+        }
+    }
+    
+    private final byte codigo;
+    
+    ComandoMotorista(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+    
+    public byte getCodigo() {
+        return codigo;
+    }
+    
+    // Retorna null para códigos desconhecidos
+    public static ComandoMotorista deCodigo(byte codigo) {
+        return codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+    
+    // Executa o comando no carro, como o motorista faria
+    public void aplicar(Carro carro, double valor) {
+        switch (this) {
+            case LIGAR -> carro.ligar();
+            case DESLIGAR -> carro.desligar();
+            case ACELERAR -> carro.acelerar(valor);
+            case FREAR -> carro.frear(valor);
+            case SUBIR_MARCHA -> carro.subirMarcha();
+            case DESCER_MARCHA -> carro.descerMarcha();
+            case COLOCAR_MARCHA_RE -> carro.colocarMarchaRe();
+            case COLOCAR_NEUTRO -> carro.colocarNeutro();
+            case ABASTECER -> carro.abastecer(valor);
+            case RESETAR -> carro.resetar();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Tabela de torque do motor indexada por RPM, montada uma vez por especificação de motor.
+// Os pontos ficam em intervalos fixos de RPM e os valores entre eles são interpolados
+// linearmente, então a consulta é só um índice e três interpolações, sem desvios.
+// Nos pontos da grade os valores são exatamente os da fórmula do Motor.
+public final class CurvaTorque {
+    private static final double PASSO_RPM_PADRAO = 50.0;
+    
+    private final double passo;
+    private final int ultimoIndice;
+    private final double[] torquesMaximos; // Torque máximo disponível (acelerador 100%)
+    private final double[] fatoresRpm;     // Fator de aproveitamento do torque por RPM
+    private final double[] resistencias;   // Resistência interna total do motor
+    
+    private CurvaTorque(double passo, double[] torquesMaximos, double[] fatoresRpm, double[] resistencias) {
+        this.passo = passo;
+        this.ultimoIndice = torquesMaximos.length - 1;
+        // Repete o último ponto para que a consulta no RPM máximo não precise de desvio
+        this.torquesMaximos = repetirUltimo(torquesMaximos);
+        this.fatoresRpm = repetirUltimo(fatoresRpm);
+        this.resistencias = repetirUltimo(resistencias);
+    }
+    
+    // Monta a tabela a partir da fórmula do motor
+    public static CurvaTorque calcular(double potenciaMaxima, double rpmMaximo, double resistenciaMotor) {
+        return calcular(potenciaMaxima, rpmMaximo, resistenciaMotor, PASSO_RPM_PADRAO);
+    }
+    
+    public static CurvaTorque calcular(double potenciaMaxima, double rpmMaximo, double resistenciaMotor,
+                                       double passoRpm) {
+        if (potenciaMaxima <= 0 || rpmMaximo <= 0 || passoRpm <= 0) {
+            throw new IllegalArgumentException("Potência, RPM máximo e passo devem ser positivos");
+        }
+        
+        int pontos = (int) Math.ceil(rpmMaximo / passoRpm) + 1;
+        double[] torquesMaximos = new double[pontos];
+        double[] fatoresRpm = new double[pontos];
+        double[] resistencias = new double[pontos];
+        
+        for (int i = 0; i < pontos; i++) {
+            double rpm = i * passoRpm;
+            torquesMaximos[i] = Motor.calcularTorqueMaximo(rpm, potenciaMaxima);
+            fatoresRpm[i] = Motor.calcularFatorTorqueRpm(rpm, rpmMaximo);
+            resistencias[i] = Motor.calcularResistenciaTotal(rpm, rpmMaximo, resistenciaMotor);
+        }
+        return new CurvaTorque(passoRpm, torquesMaximos, fatoresRpm, resistencias);
+    }
+    
+    // Carrega uma curva medida em dinamômetro. Cada linha: rpm;torque;resistencia
+    // (torque com acelerador a 100%, em Nm). Linhas vazias ou iniciadas por # são ignoradas.
+    // Os pontos podem ter qualquer espaçamento; são reamostrados para a grade fixa.
+    public static CurvaTorque carregar(Path arquivo) throws IOException {
+        List<double[]> linhas = new ArrayList<>();
+        
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] campos = linha.split("[;,\\s]+");
+                if (campos.length < 3) {
+                    throw new IllegalArgumentException("Linha " + numero + " inválida: esperado rpm;torque;resistencia");
+                }
+                double[] ponto = {Double.parseDouble(campos[0]), Double.parseDouble(campos[1]),
+                                  Double.parseDouble(campos[2])};
+                if (!linhas.isEmpty() && ponto[0] <= linhas.get(linhas.size() - 1)[0]) {
+                    throw new IllegalArgumentException("Linha " + numero + ": o RPM deve ser crescente");
+                }
+                linhas.add(ponto);
+            }
+        }
+        
+        if (linhas.size() < 2) {
+            throw new IllegalArgumentException("A curva precisa de pelo menos dois pontos");
+        }
+        return reamostrar(linhas, PASSO_RPM_PADRAO);
+    }
+    
+    private static CurvaTorque reamostrar(List<double[]> medidos, double passoRpm) {
+        double rpmFinal = medidos.get(medidos.size() - 1)[0];
+        int pontos = (int) Math.ceil(rpmFinal / passoRpm) + 1;
+        double[] torquesMaximos = new double[pontos];
+        double[] fatoresRpm = new double[pontos];
+        double[] resistencias = new double[pontos];
+        
+        int j = 0;
+        for (int i = 0; i < pontos; i++) {
+            double rpm = Math.min(i * passoRpm, rpmFinal);
+            while (j < medidos.size() - 2 && medidos.get(j + 1)[0] < rpm) {
+                j++;
+            }
+            double[] a = medidos.get(j);
+            double[] b = medidos.get(j + 1);
+            // Abaixo do primeiro ponto medido, mantém o primeiro valor
+            double fracao = Math.max(0.0, Math.min(1.0, (rpm - a[0]) / (b[0] - a[0])));
+            
+            torquesMaximos[i] = a[1] + fracao * (b[1] - a[1]);
+            fatoresRpm[i] = 1.0; // A curva medida já inclui o efeito do RPM
+            resistencias[i] = a[2] + fracao * (b[2] - a[2]);
+        }
+        return new CurvaTorque(passoRpm, torquesMaximos, fatoresRpm, resistencias);
+    }
+    
+    // Torque líquido do motor; mesmas regras de Motor.gerarTorque usando a tabela
+    public double calcularTorque(double rpm, double acelerador) {
+        if (rpm <= 0) {
+            return 0.0;
+        }
+        
+        double posicao = rpm / passo;
+        int indice = Math.min((int) posicao, ultimoIndice);
+        double fracao = posicao - indice;
+        
+        double torqueBruto = interpolar(torquesMaximos, indice, fracao) * acelerador
+                           * interpolar(fatoresRpm, indice, fracao);
+        
+        if (acelerador == 0.0 && rpm <= Motor.RPM_MINIMO_FUNCIONAMENTO * 1.2) {
+            torqueBruto = Motor.calcularTorqueMinimo();
+        }
+        
+        double torqueLiquido = torqueBruto - interpolar(resistencias, indice, fracao);
+        return Math.max(0, torqueLiquido);
+    }
+    
+    private static double interpolar(double[] valores, int indice, double fracao) {
+        double inicio = valores[indice];
+        return inicio + fracao * (valores[indice + 1] - inicio);
+    }
+    
+    private static double[] repetirUltimo(double[] valores) {
+        double[] copia = new double[valores.length + 1];
+        System.arraycopy(valores, 0, copia, 0, valores.length);
+        copia[valores.length] = valores[valores.length - 1];
+        return copia;
+    }
+    
+    // Getters
+    public double getPassoRpm() { return passo; }
+    public int getQuantidadePontos() { return ultimoIndice + 1; }
+    public double getRpmFinal() { return ultimoIndice * passo; }
+    
+    @Override
+    public String toString() {
+        return String.format("Curva de torque: %d pontos a cada %.0f RPM (até %.0f RPM)",
+                           getQuantidadePontos(), passo, getRpmFinal());
+    }
+}
@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Diário binário dos comandos dados aos carros, para reproduzir incidentes depois com o
+// ReprodutorEntradas. Cada comando é gravado com o tick do carro no momento em que chegou;
+// como a física só depende dos comandos e do passo, reaplicá-los nos mesmos ticks reproduz
+// a execução bit a bit. Os registros são acumulados num buffer direto de 1 MB; quando ele
+// enche, é trocado pelo buffer reserva e escrito no FileChannel fora da trava, para que os
+// outros carros continuem gravando enquanto o disco trabalha. A trava é um ReentrantLock,
+// e não um monitor, para não prender a thread portadora de threads virtuais.
+//
+// Formato: cabeçalho com MAGICO (int), VERSAO (int) e o passo em segundos (double),
+// seguido de registros de tamanho fixo: tick (long), carro (int), tipo (byte), valor (8 bytes).
+// O tipo é o código de ComandoMotorista ou um dos tipos internos abaixo.
+public class DiarioEntradas implements AutoCloseable {
+    static final int MAGICO = 0x43444945;
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_REGISTRO = 21;
+    static final byte TIPO_NOVO_CARRO = 100;  // Carro passou a ser gravado
+    static final byte TIPO_ASSINATURA = 101;  // valor = EstadoCarro.calcularAssinatura()
+    private static final int TAMANHO_BUFFER = 1 << 20;
+    
+    private final FileChannel canal;
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition reservaLivre = trava.newCondition();
+    private ByteBuffer buffer;   // Recebe os registros
+    private ByteBuffer reserva;  // null enquanto está sendo escrito no canal
+    private final double deltaTempo;
+    private int proximoId;
+    private long registrosGravados;
+    private IOException falha;
+    private boolean fechado;
+    
+    // Construtor para carros atualizados no passo padrão (timer do painel)
+    public DiarioEntradas(Path arquivo) throws IOException {
+        this(arquivo, Carro.PASSO_PADRAO);
+    }
+    
+    // deltaTempo é o passo fixo com que os carros gravados são atualizados
+    public DiarioEntradas(Path arquivo, double deltaTempo) throws IOException {
+        if (deltaTempo <= 0) {
+            throw new IllegalArgumentException("O passo deve ser positivo");
+        }
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                      StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        this.reserva = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        this.deltaTempo = deltaTempo;
+        this.proximoId = 0;
+        this.registrosGravados = 0;
+        this.fechado = false;
+        
+        buffer.putInt(MAGICO).putInt(VERSAO).putDouble(deltaTempo);
+    }
+    
+    // Passa a gravar os comandos do carro e retorna seu id no diário.
+    // Para a reprodução ser fiel, o carro deve ser registrado logo após ser criado.
+    public int registrar(Carro carro) {
+        int id;
+        trava.lock();
+        try {
+            id = proximoId++;
+        } finally {
+            trava.unlock();
+        }
+        escrever(carro.getTick(), id, TIPO_NOVO_CARRO, 0L);
+        carro.gravarComandosEm(this, id);
+        return id;
+    }
+    
+    // Para de gravar os comandos do carro
+    public void removerCarro(Carro carro) {
+        if (carro.getDiario() == this) {
+            carro.gravarComandosEm(null, 0);
+        }
+    }
+    
+    // Grava a assinatura do estado atual, que o reprodutor confere ao chegar no mesmo tick
+    public void gravarAssinatura(Carro carro) {
+        if (carro.getDiario() != this) {
+            return;
+        }
+        EstadoCarro estado = carro.getEstado();
+        escrever(estado.getTick(), carro.getIdDiario(), TIPO_ASSINATURA, estado.calcularAssinatura());
+    }
+    
+    // Chamado pelo Carro no início de cada comando
+    void gravar(long tick, int idCarro, ComandoMotorista comando, double valor) {
+        escrever(tick, idCarro, comando.getCodigo(), Double.doubleToRawLongBits(valor));
+    }
+    
+    private void escrever(long tick, int idCarro, byte tipo, long valor) {
+        ByteBuffer cheio = null;
+        trava.lock();
+        try {
+            if (fechado || falha != null) {
+                return;
+            }
+            if (buffer.remaining() < TAMANHO_REGISTRO) {
+                cheio = trocarBuffer();
+            }
+            buffer.putLong(tick).putInt(idCarro).put(tipo).putLong(valor);
+            registrosGravados++;
+        } finally {
+            trava.unlock();
+        }
+        if (cheio != null) {
+            escreverBuffer(cheio);
+        }
+    }
+    
+    // Chamado com a trava: espera o reserva voltar do canal e o troca pelo buffer atual.
+    // Só um buffer fica fora por vez, então os buffers chegam ao canal na ordem em que encheram.
+    private ByteBuffer trocarBuffer() {
+        while (reserva == null) {
+            reservaLivre.awaitUninterruptibly();
+        }
+        ByteBuffer cheio = buffer;
+        buffer = reserva;
+        reserva = null;
+        return cheio;
+    }
+    
+    // Fora da trava. Uma falha de escrita interrompe a gravação; ela é relançada em
+    // descarregar() e close()
+    private void escreverBuffer(ByteBuffer cheio) {
+        IOException erro = null;
+        cheio.flip();
+        try {
+            while (cheio.hasRemaining()) {
+                canal.write(cheio);
+            }
+        } catch (IOException e) {
+            erro = e;
+        }
+        cheio.clear();
+        
+        trava.lock();
+        try {
+            if (erro != null && falha == null) {
+                falha = erro;
+            }
+            reserva = cheio;
+            reservaLivre.signalAll();
+        } finally {
+            trava.unlock();
+        }
+    }
+    
+    // Escreve no arquivo tudo o que está no buffer
+    public void descarregar() throws IOException {
+        ByteBuffer cheio = null;
+        trava.lock();
+        try {
+            if (!fechado) {
+                cheio = trocarBuffer();
+            }
+        } finally {
+            trava.unlock();
+        }
+        if (cheio != null) {
+            escreverBuffer(cheio);
+        }
+        lancarFalha();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        descarregar();
+        trava.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            while (reserva == null) {
+                reservaLivre.awaitUninterruptibly(); // Outra thread ainda escreve um buffer
+            }
+            fechado = true;
+        } finally {
+            trava.unlock();
+        }
+        
+        // Registros que chegaram depois de descarregar() e antes de fechado
+        escreverBuffer(buffer);
+        canal.close();
+        lancarFalha();
+    }
+    
+    private void lancarFalha() throws IOException {
+        IOException erro;
+        trava.lock();
+        try {
+            erro = falha;
+        } finally {
+            trava.unlock();
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+    
+    // Getters
+    public double getDeltaTempo() { return deltaTempo; }
+    
+    public int getQuantidadeCarros() {
+        trava.lock();
+        try {
+            return proximoId;
+        } finally {
+            trava.unlock();
+        }
+    }
+    
+    public long getRegistrosGravados() {
+        trava.lock();
+        try {
+            return registrosGravados;
+        } finally {
+            trava.unlock();
+        }
+    }
+    
+    public boolean temFalha() {
+        trava.lock();
+        try {
+            return falha != null;
+        } finally {
+            trava.unlock();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        trava.lock();
+        try {
+            return String.format("Diário de entradas: %d carros, %d registros, passo %.3f s%s",
+                               proximoId, registrosGravados, deltaTempo, falha != null ? " (FALHA)" : "");
+        } finally {
+            trava.unlock();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Avança muitos carros independentes em paralelo. Cada tick divide a frota em lotes
+// executados num ForkJoinPool; passo() só retorna quando todos os carros avançaram,
+// funcionando como barreira entre ticks.
+// Carros em repouso (motor desligado e parados) saem do conjunto ativo e deixam de ser
+// atualizados até receberem um comando; o tempo parado é contabilizado quando acordam,
+// ou antes por contabilizarRepouso() (relatórios e checkpoints).
+public class EscalonadorFrota {
+    private static final int TAMANHO_LOTE_PADRAO = 1024;
+    
+    private final List<Carro> carros;
+    private volatile List<Carro> carrosPublicados; // Cópia imutável para leitura em outras threads
+    private boolean carrosAlterados;
+    private final List<Carro> ativos;
+    private final Map<Carro, Repouso> emRepouso;
+    private final Queue<Carro> despertados; // Acordados por comandos, de qualquer thread
+    private final ForkJoinPool pool;
+    private final boolean poolProprio;
+    private int tamanhoLote;
+    private double erroMaximoAdaptativo; // 0 = passo fixo
+    private boolean repousoAtivo;
+    private final Object relogio = new Object(); // Protege o par ticks/tempoSimulado para quem acorda carros
+    private volatile long ticks;
+    private volatile double tempoSimulado;
+    
+    // Construtor padrão: usa o pool comum da JVM
+    public EscalonadorFrota() {
+        this(ForkJoinPool.commonPool(), false);
+    }
+    
+    // Construtor com número de threads definido
+    public EscalonadorFrota(int paralelismo) {
+        this(new ForkJoinPool(paralelismo), true);
+    }
+    
+    private EscalonadorFrota(ForkJoinPool pool, boolean poolProprio) {
+        this.carros = new ArrayList<>();
+        this.carrosPublicados = List.of();
+        this.ativos = new ArrayList<>();
+        this.emRepouso = new IdentityHashMap<>();
+        this.despertados = new ConcurrentLinkedQueue<>();
+        this.pool = pool;
+        this.poolProprio = poolProprio;
+        this.tamanhoLote = TAMANHO_LOTE_PADRAO;
+        this.erroMaximoAdaptativo = 0.0;
+        this.repousoAtivo = true;
+        this.ticks = 0;
+        this.tempoSimulado = 0.0;
+    }
+    
+    // Só aceita carros sem painel: os carros com painel já são atualizados pelo timer do Swing
+    public boolean adicionar(Carro carro) {
+        if (carro == null || carro.temPainel()) {
+            return false;
+        }
+        ativos.add(carro);
+        carrosAlterados = true;
+        return carros.add(carro);
+    }
+    
+    public boolean remover(Carro carro) {
+        if (emRepouso.remove(carro) != null) {
+            carro.despertar(); // Contabiliza o tempo parado; a fila ignora carros fora do repouso
+        } else {
+            ativos.remove(carro);
+        }
+        carrosAlterados = true;
+        return carros.remove(carro);
+    }
+    
+    // Avança todos os carros ativos um passo e aguarda o fim de todos os lotes
+    public void passo(double deltaTempo) {
+        reativarDespertados();
+        if (!ativos.isEmpty()) {
+            pool.invoke(new TarefaLote(0, ativos.size(), deltaTempo));
+        }
+        synchronized (relogio) {
+            ticks++;
+            tempoSimulado += deltaTempo;
+        }
+        if (repousoAtivo) {
+            separarEmRepouso();
+        }
+        if (carrosAlterados) {
+            publicarCarros();
+        }
+    }
+    
+    // Republica a cópia lida por getCarrosPublicados(); chamada no fim de cada passo em que
+    // a frota mudou, ou diretamente depois de adicionar carros antes do primeiro passo
+    public void publicarCarros() {
+        carrosAlterados = false;
+        carrosPublicados = List.copyOf(carros);
+    }
+    
+    // Tira do conjunto ativo os carros que chegaram ao repouso, mantendo a ordem dos demais
+    private void separarEmRepouso() {
+        int mantidos = 0;
+        for (int i = 0; i < ativos.size(); i++) {
+            Carro carro = ativos.get(i);
+            if (carro.estaEmRepouso() && adormecer(carro)) {
+                continue;
+            }
+            ativos.set(mantidos++, carro);
+        }
+        ativos.subList(mantidos, ativos.size()).clear();
+    }
+    
+    private boolean adormecer(Carro carro) {
+        Repouso repouso = new Repouso(carro);
+        carro.adormecer(repouso);
+        
+        // Um comando pode ter chegado entre a verificação e o registro do aviso
+        if (!carro.estaEmRepouso()) {
+            carro.cancelarRepouso();
+            return false;
+        }
+        emRepouso.put(carro, repouso);
+        return true;
+    }
+    
+    // Passa para a viagem e para o tick dos carros em repouso o tempo parado até agora,
+    // sem acordá-los. Chame entre passos, antes de ler viagens ou estados da frota
+    // (RelatorioConsumo.gerar, CheckpointFrota.salvar).
+    public void contabilizarRepouso() {
+        for (Repouso repouso : emRepouso.values()) {
+            repouso.contabilizar(false);
+        }
+    }
+    
+    // Um carro acordado durante um passo ficou fora dos ativos nesse passo: o repouso foi
+    // contabilizado só até o tick em que acordou, então os ticks desde então são simulados aqui
+    // antes de ele voltar aos ativos
+    private void reativarDespertados() {
+        Carro carro;
+        while ((carro = despertados.poll()) != null) {
+            Repouso repouso = emRepouso.remove(carro);
+            if (repouso != null) {
+                repouso.recuperarTicks();
+                ativos.add(carro);
+            }
+        }
+    }
+    
+    public void executar(int passos, double deltaTempo) {
+        for (int i = 0; i < passos; i++) {
+            passo(deltaTempo);
+        }
+    }
+    
+    // Libera as threads quando o pool foi criado por este escalonador
+    public void encerrar() {
+        if (poolProprio) {
+            pool.shutdown();
+        }
+    }
+    
+    // Getters e setters
+    public List<Carro> getCarros() { return carros; } // Só na thread que chama passo()
+    public List<Carro> getCarrosPublicados() { return carrosPublicados; } // Qualquer thread
+    public int getQuantidadeCarros() { return carros.size(); }
+    public int getQuantidadeAtivos() { return ativos.size(); }
+    public int getQuantidadeEmRepouso() { return emRepouso.size(); }
+    public double getTempoSimulado() { return tempoSimulado; }
+    public boolean isRepousoAtivo() { return repousoAtivo; }
+    public long getTicks() { return ticks; }
+    public int getParalelismo() { return pool.getParallelism(); }
+    public int getTamanhoLote() { return tamanhoLote; }
+    public boolean isPassoAdaptativo() { return erroMaximoAdaptativo > 0; }
+    public double getErroMaximoAdaptativo() { return erroMaximoAdaptativo; }
+    
+    public void setTamanhoLote(int tamanhoLote) {
+        if (tamanhoLote > 0) {
+            this.tamanhoLote = tamanhoLote;
+        }
+    }
+    
+    // Com o repouso desligado, todos os carros são atualizados em todo tick
+    public void setRepousoAtivo(boolean repousoAtivo) {
+        this.repousoAtivo = repousoAtivo;
+        if (!repousoAtivo) {
+            for (Carro carro : new ArrayList<>(emRepouso.keySet())) {
+                carro.despertar();
+            }
+            reativarDespertados();
+        }
+    }
+    
+    // Com erroMaximo positivo, cada passo(deltaTempo) avança os carros com
+    // Carro.atualizarAdaptativo: carros parados avançam o intervalo todo de uma vez.
+    // Com 0, volta ao passo fixo.
+    public void setPassoAdaptativo(double erroMaximo) {
+        if (erroMaximo >= 0) {
+            this.erroMaximoAdaptativo = erroMaximo;
+        }
+    }
+    
+    // Aviso registrado no carro em repouso: contabiliza o tempo parado desde o início do repouso
+    // ou desde a última contabilização. Sincronizado no relógio do escalonador porque o comando
+    // que acorda o carro pode vir de outra thread enquanto contabilizarRepouso() ou passo() rodam,
+    // e ticks e tempoSimulado precisam ser lidos como um par.
+    private class Repouso implements Runnable {
+        private final Carro carro;
+        private long tickInicio;
+        private double tempoInicio;
+        private boolean despertado;
+        
+        Repouso(Carro carro) {
+            this.carro = carro;
+            this.tickInicio = ticks;
+            this.tempoInicio = tempoSimulado;
+        }
+        
+        @Override
+        public void run() {
+            contabilizar(true);
+            despertados.add(carro);
+        }
+        
+        void contabilizar(boolean despertar) {
+            synchronized (relogio) {
+                if (despertado) {
+                    return;
+                }
+                long ticksAgora = ticks;
+                double tempoAgora = tempoSimulado;
+                if (despertar) {
+                    despertado = true;
+                    carro.registrarRepouso(tempoAgora - tempoInicio, ticksAgora - tickInicio);
+                } else {
+                    carro.contabilizarRepouso(tempoAgora - tempoInicio, ticksAgora - tickInicio);
+                }
+                tickInicio = ticksAgora;
+                tempoInicio = tempoAgora;
+            }
+        }
+        
+        // Chamado na thread de passo(), entre passos, depois do despertar: simula os ticks que
+        // passaram entre o despertar e agora (no máximo o passo em andamento quando acordou)
+        void recuperarTicks() {
+            long faltando;
+            double tempoFaltando;
+            synchronized (relogio) {
+                faltando = ticks - tickInicio;
+                tempoFaltando = tempoSimulado - tempoInicio;
+            }
+            if (faltando <= 0) {
+                return;
+            }
+            double deltaTempo = tempoFaltando / faltando;
+            double erroMaximo = erroMaximoAdaptativo;
+            for (long i = 0; i < faltando; i++) {
+                if (erroMaximo > 0) {
+                    carro.atualizarAdaptativo(deltaTempo, erroMaximo);
+                } else {
+                    carro.atualizar(deltaTempo);
+                }
+            }
+        }
+    }
+    
+    // Divide o intervalo de carros ao meio até atingir o tamanho do lote
+    private class TarefaLote extends RecursiveAction {
+        private final int inicio;
+        private final int fim;
+        private final double deltaTempo;
+        
+        TarefaLote(int inicio, int fim, double deltaTempo) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.deltaTempo = deltaTempo;
+        }
+        
+        @Override
+        protected void compute() {
+            if (fim - inicio <= tamanhoLote) {
+                double erroMaximo = erroMaximoAdaptativo;
+                for (int i = inicio; i < fim; i++) {
+                    if (erroMaximo > 0) {
+                        ativos.get(i).atualizarAdaptativo(deltaTempo, erroMaximo);
+                    } else {
+                        ativos.get(i).atualizar(deltaTempo);
+                    }
+                }
+                return;
+            }
+            
+            int meio = (inicio + fim) >>> 1;
+            invokeAll(new TarefaLote(inicio, meio, deltaTempo), new TarefaLote(meio, fim, deltaTempo));
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Escalonador: %d carros (%d em repouso), %d threads, lote de %d, %d ticks%s",
+                           carros.size(), emRepouso.size(), getParalelismo(), tamanhoLote, ticks,
+                           isPassoAdaptativo() ? ", passo adaptativo" : "");
+    }
+}
@@ -0,0 +1,74 @@
+// Especificação imutável de um modelo de veículo: motor, câmbio, tanque, roda e massa.
+// Uma única instância é compartilhada por todos os carros do mesmo modelo; cada carro
+// guarda apenas a referência e o próprio estado. Tabelas derivadas da especificação,
+// como a curva de torque, são calculadas uma vez aqui.
+public final class EspecificacaoVeiculo {
+    // Modelo padrão, com a configuração que o Carro sempre usou
+    public static final EspecificacaoVeiculo PADRAO = new EspecificacaoVeiculo(
+        "Sedan", 150.0, 7000.0, 50.0, 0.3, 1200.0, CaixaDeMarcha.getMarchasPadrao());
+    
+    private final String nome;
+    private final double potenciaMaxima;
+    private final double rpmMaximo;
+    private final double capacidadeTanque;
+    private final double raioRoda;
+    private final double massaVeiculo;
+    private final double[] marchas;
+    private final CurvaTorque curvaTorque;
+    
+    // Construtor: a curva de torque é calculada a partir da potência e do RPM máximo
+    public EspecificacaoVeiculo(String nome, double potenciaMaxima, double rpmMaximo, double capacidadeTanque,
+                                double raioRoda, double massaVeiculo, double[] marchas) {
+        this(nome, potenciaMaxima, rpmMaximo, capacidadeTanque, raioRoda, massaVeiculo, marchas,
+             CurvaTorque.calcular(potenciaMaxima, rpmMaximo, Motor.RESISTENCIA_PADRAO));
+    }
+    
+    // Construtor com curva de torque própria (ex.: medida em dinamômetro)
+    public EspecificacaoVeiculo(String nome, double potenciaMaxima, double rpmMaximo, double capacidadeTanque,
+                                double raioRoda, double massaVeiculo, double[] marchas, CurvaTorque curvaTorque) {
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("O modelo precisa de um nome");
+        }
+        if (potenciaMaxima <= 0 || rpmMaximo <= 0 || capacidadeTanque <= 0 || raioRoda <= 0 || massaVeiculo <= 0) {
+            throw new IllegalArgumentException("Valores da especificação de " + nome + " devem ser positivos");
+        }
+        if (marchas == null || marchas.length == 0 || curvaTorque == null) {
+            throw new IllegalArgumentException("Especificação de " + nome + " sem marchas ou curva de torque");
+        }
+        
+        this.nome = nome;
+        this.potenciaMaxima = potenciaMaxima;
+        this.rpmMaximo = rpmMaximo;
+        this.capacidadeTanque = capacidadeTanque;
+        this.raioRoda = raioRoda;
+        this.massaVeiculo = massaVeiculo;
+        this.marchas = marchas.clone();
+        this.curvaTorque = curvaTorque;
+    }
+    
+    // Getters
+    public String getNome() { return nome; }
+    public double getPotenciaMaxima() { return potenciaMaxima; }
+    public double getRpmMaximo() { return rpmMaximo; }
+    public double getCapacidadeTanque() { return capacidadeTanque; }
+    public double getRaioRoda() { return raioRoda; }
+    public double getMassaVeiculo() { return massaVeiculo; }
+    public CurvaTorque getCurvaTorque() { return curvaTorque; }
+    public int getQuantidadeMarchas() { return marchas.length; }
+    
+    public double[] getMarchas() {
+        return marchas.clone(); // Retorna cópia para manter a especificação imutável
+    }
+    
+    // Array interno, compartilhado sem cópia por CaixaDeMarcha e FrotaCompacta; não deve ser alterado
+    double[] getMarchasCompartilhadas() {
+        return marchas;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %.0f kW, %.0f RPM, %d marchas, tanque %.1fL, roda %.2fm, %.0f kg",
+                           nome, potenciaMaxima, rpmMaximo, marchas.length, capacidadeTanque,
+                           raioRoda, massaVeiculo);
+    }
+}
@@ -0,0 +1,168 @@
+// Fotografia imutável do estado de um carro ao final de um tick.
+// É publicada pelo Carro numa única referência volatile, então qualquer thread pode
+// ler todos os valores de um mesmo tick sem travas e sem misturar ticks diferentes.
+public final class EstadoCarro {
+    private final long tick;
+    private final double velocidade;
+    private final double rpm;
+    private final double rpmMaximo;
+    private final double torque;
+    private final double acelerador;
+    private final double nivelCombustivel;
+    private final double capacidadeTanque;
+    private final int marchaAtual;
+    private final boolean emMarchaRe;
+    private final boolean motorLigado;
+    private final double velocidadeAngular;
+    private final double forcaTracao;
+    private final long instantePublicacao; // System.nanoTime() da criação; não faz parte do estado simulado
+    
+    // Construtor
+    public EstadoCarro(long tick, double velocidade, double rpm, double rpmMaximo, double torque,
+                       double acelerador, double nivelCombustivel, double capacidadeTanque,
+                       int marchaAtual, boolean emMarchaRe, boolean motorLigado,
+                       double velocidadeAngular, double forcaTracao) {
+        this(tick, velocidade, rpm, rpmMaximo, torque, acelerador, nivelCombustivel, capacidadeTanque,
+             marchaAtual, emMarchaRe, motorLigado, velocidadeAngular, forcaTracao, System.nanoTime());
+    }
+    
+    private EstadoCarro(long tick, double velocidade, double rpm, double rpmMaximo, double torque,
+                        double acelerador, double nivelCombustivel, double capacidadeTanque,
+                        int marchaAtual, boolean emMarchaRe, boolean motorLigado,
+                        double velocidadeAngular, double forcaTracao, long instantePublicacao) {
+        this.tick = tick;
+        this.velocidade = velocidade;
+        this.rpm = rpm;
+        this.rpmMaximo = rpmMaximo;
+        this.torque = torque;
+        this.acelerador = acelerador;
+        this.nivelCombustivel = nivelCombustivel;
+        this.capacidadeTanque = capacidadeTanque;
+        this.marchaAtual = marchaAtual;
+        this.emMarchaRe = emMarchaRe;
+        this.motorLigado = motorLigado;
+        this.velocidadeAngular = velocidadeAngular;
+        this.forcaTracao = forcaTracao;
+        this.instantePublicacao = instantePublicacao;
+    }
+    
+    // Cria a fotografia a partir dos componentes do carro; instante é quando ela é publicada
+    static EstadoCarro capturar(long tick, double velocidade, Motor motor, Tanque tanque,
+                                CaixaDeMarcha caixaDeMarcha, Roda roda, long instante) {
+        return new EstadoCarro(tick, velocidade, motor.getRPM(), motor.getRpmMaximo(), motor.getTorque(),
+                               motor.getAcelerador(), tanque.getNivelAtual(), tanque.getCapacidadeMaxima(),
+                               caixaDeMarcha.getMarchaAtual(), caixaDeMarcha.isEmMarchaRe(), motor.isLigado(),
+                               roda.getVelocidadeAngular(), roda.getForcaTracao(), instante);
+    }
+    
+    // Getters
+    public long getTick() { return tick; }
+    public double getVelocidade() { return velocidade; }
+    public double getRpm() { return rpm; }
+    public double getRpmMaximo() { return rpmMaximo; }
+    public double getTorque() { return torque; }
+    public double getAcelerador() { return acelerador; }
+    public double getNivelCombustivel() { return nivelCombustivel; }
+    public double getCapacidadeTanque() { return capacidadeTanque; }
+    public int getMarchaAtual() { return marchaAtual; }
+    public boolean isEmMarchaRe() { return emMarchaRe; }
+    public boolean isMotorLigado() { return motorLigado; }
+    public double getVelocidadeAngular() { return velocidadeAngular; }
+    public double getForcaTracao() { return forcaTracao; }
+    public long getInstantePublicacao() { return instantePublicacao; }
+    
+    public double getPercentualCombustivel() {
+        return (nivelCombustivel / capacidadeTanque) * 100;
+    }
+    
+    public boolean estaEmZonaVermelha() {
+        return rpm > rpmMaximo * 0.85;
+    }
+    
+    public boolean estaEmNeutro() {
+        return marchaAtual == CaixaDeMarcha.MARCHA_NEUTRA;
+    }
+    
+    // 0 = parado, 1 = normal, 2 = alto (acima de 70%), 3 = zona vermelha
+    public int getFaixaRpm() {
+        if (rpm <= 0) return 0;
+        if (estaEmZonaVermelha()) return 3;
+        if (rpm > rpmMaximo * 0.7) return 2;
+        return 1;
+    }
+    
+    // 0 = normal, 1 = reserva, 2 = crítico, 3 = vazio
+    public int getFaixaCombustivel() {
+        if (nivelCombustivel == 0) return 3;
+        double percentual = getPercentualCombustivel();
+        if (percentual <= 5.0) return 2;
+        if (percentual <= 15.0) return 1;
+        return 0;
+    }
+    
+    // Máscara de OuvinteTelemetria com o que mudou em relação a outra fotografia,
+    // considerando a precisão com que os valores são exibidos
+    public int compararCom(EstadoCarro anterior) {
+        if (anterior == null) {
+            return OuvinteTelemetria.TODAS;
+        }
+        
+        int mudancas = 0;
+        if (Math.round(velocidade * 10) != Math.round(anterior.velocidade * 10)
+                || (velocidade > 0) != (anterior.velocidade > 0)) {
+            mudancas |= OuvinteTelemetria.VELOCIDADE;
+        }
+        if (marchaAtual != anterior.marchaAtual || emMarchaRe != anterior.emMarchaRe) {
+            mudancas |= OuvinteTelemetria.MARCHA;
+        }
+        if (Math.round(rpm) != Math.round(anterior.rpm)) {
+            mudancas |= OuvinteTelemetria.RPM;
+        }
+        if (getFaixaRpm() != anterior.getFaixaRpm()) {
+            mudancas |= OuvinteTelemetria.FAIXA_RPM;
+        }
+        if (Math.round(nivelCombustivel * 10) != Math.round(anterior.nivelCombustivel * 10)) {
+            mudancas |= OuvinteTelemetria.COMBUSTIVEL;
+        }
+        if (getFaixaCombustivel() != anterior.getFaixaCombustivel()) {
+            mudancas |= OuvinteTelemetria.FAIXA_COMBUSTIVEL;
+        }
+        if (motorLigado != anterior.motorLigado) {
+            mudancas |= OuvinteTelemetria.MOTOR;
+        }
+        return mudancas;
+    }
+    
+    // Resumo de 64 bits de todos os valores, para comparar execuções bit a bit
+    public long calcularAssinatura() {
+        long h = tick;
+        h = 31 * h + Double.doubleToLongBits(velocidade);
+        h = 31 * h + Double.doubleToLongBits(rpm);
+        h = 31 * h + Double.doubleToLongBits(torque);
+        h = 31 * h + Double.doubleToLongBits(acelerador);
+        h = 31 * h + Double.doubleToLongBits(nivelCombustivel);
+        h = 31 * h + Double.doubleToLongBits(velocidadeAngular);
+        h = 31 * h + Double.doubleToLongBits(forcaTracao);
+        h = 31 * h + marchaAtual;
+        h = 31 * h + (emMarchaRe ? 1 : 0);
+        h = 31 * h + (motorLigado ? 1 : 0);
+        return h;
+    }
+    
+    public String getDescricaoMarcha() {
+        if (estaEmNeutro()) {
+            return "N";
+        } else if (emMarchaRe) {
+            return "R";
+        } else {
+            return String.valueOf(marchaAtual + 1);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Tick %d: %s, %.1f km/h, %.0f RPM, Marcha %s, Combustível %.1f/%.1fL",
+                           tick, motorLigado ? "LIGADO" : "DESLIGADO", velocidade, rpm,
+                           getDescricaoMarcha(), nivelCombustivel, capacidadeTanque);
+    }
+}
@@ -0,0 +1,86 @@
+import java.lang.invoke.VarHandle;
+
+// Fila circular de notificações de um motor, com número de sequência por evento.
+// Um único produtor (a thread que atualiza o carro) publica sem travas e sem alocar;
+// cada consumidor guarda o próprio cursor e drena tudo o que chegou desde a última leitura.
+// Se um consumidor ficar 'capacidade' eventos ou mais para trás, os mais antigos são
+// sobrescritos e ele é avisado de quantos perdeu.
+public class FilaNotificacoes {
+    // Recebe os eventos drenados; os parâmetros são primitivos para não alocar
+    public interface Consumidor {
+        void aceitar(long sequencia, NotificacaoMotor codigo, double valor, long tempo);
+        
+        default void perdidas(long quantidade) {
+        }
+    }
+    
+    private final NotificacaoMotor[] codigos;
+    private final double[] valores;
+    private final long[] tempos;
+    private final int mascara;
+    
+    // Quantidade de eventos já publicados; a escrita volatile publica o conteúdo da posição
+    private volatile long sequencia;
+    
+    // Construtor: a capacidade é arredondada para a próxima potência de 2
+    public FilaNotificacoes(int capacidade) {
+        int tamanho = capacidade <= 2 ? 2 : Integer.highestOneBit(capacidade - 1) << 1;
+        this.codigos = new NotificacaoMotor[tamanho];
+        this.valores = new double[tamanho];
+        this.tempos = new long[tamanho];
+        this.mascara = tamanho - 1;
+        this.sequencia = 0;
+    }
+    
+    // Chamado apenas pelo produtor
+    public void publicar(NotificacaoMotor codigo, double valor, long tempo) {
+        long proxima = sequencia;
+        int posicao = (int) (proxima & mascara);
+        codigos[posicao] = codigo;
+        valores[posicao] = valor;
+        tempos[posicao] = tempo;
+        sequencia = proxima + 1;
+    }
+    
+    // Entrega ao consumidor todos os eventos a partir do cursor e retorna o novo cursor
+    public long drenar(long cursor, Consumidor consumidor) {
+        long publicada = sequencia;
+        // A posição do evento 'publicada - capacidade' pode estar sendo sobrescrita agora
+        long maisAntiga = publicada - codigos.length + 1;
+        
+        if (cursor < maisAntiga) {
+            consumidor.perdidas(maisAntiga - cursor);
+            cursor = maisAntiga;
+        }
+        
+        while (cursor < publicada) {
+            int posicao = (int) (cursor & mascara);
+            NotificacaoMotor codigo = codigos[posicao];
+            double valor = valores[posicao];
+            long tempo = tempos[posicao];
+            
+            // Confirma que o produtor não sobrescreveu nem começou a sobrescrever a posição
+            // durante a leitura: ele escreve o evento 'sequencia' antes de incrementá-la
+            VarHandle.loadLoadFence();
+            long atual = sequencia;
+            if (atual - codigos.length >= cursor) {
+                consumidor.perdidas(atual - codigos.length + 1 - cursor);
+                cursor = atual - codigos.length + 1;
+                publicada = atual;
+                continue;
+            }
+            
+            consumidor.aceitar(cursor, codigo, valor, tempo);
+            cursor++;
+        }
+        return cursor;
+    }
+    
+    // Getters
+    public long getSequencia() { return sequencia; }
+    public int getCapacidade() { return codigos.length; }
+    
+    public boolean temNovas(long cursor) {
+        return sequencia > cursor;
+    }
+}
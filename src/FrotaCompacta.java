@@ -0,0 +1,465 @@
+import java.util.Arrays;
+
+// Frota de carros guardada em colunas de tipos primitivos (structure-of-arrays).
+// Cada carro é apenas um índice; a física é a mesma de Carro.atualizar, usando os
+// cálculos sem estado de Motor, CaixaDeMarcha e Roda, sem notificações nem objetos por carro.
+public class FrotaCompacta {
+    // Modelos usados pela frota; cada carro guarda só o índice do seu modelo
+    private final EspecificacaoVeiculo[] modelos;
+    
+    // Colunas de estado
+    private final double[] velocidadeAtual;
+    private final double[] rpm;
+    private final double[] torque;
+    private final double[] acelerador;
+    private final double[] nivelAtual;
+    private final double[] velocidadeAngular;
+    private final double[] forcaTracao;
+    private final int[] marchaAtual;
+    private final int[] modelo;
+    private final long[] ligado;     // Bitset: motor ligado
+    private final long[] emMarchaRe; // Bitset: marcha à ré engatada
+    
+    // Acumuladores da viagem, os mesmos de RegistroViagem
+    private final double[] combustivelConsumido;
+    private final double[] distanciaPercorrida;
+    private final double[] tempoMotorLigado;
+    private final double[] tempoZonaVermelha;
+    private final double[] tempoPorMarcha; // posicoesMarcha posições por carro
+    private final int posicoesMarcha;
+    
+    private int tamanho;
+    
+    // Construtor com a configuração padrão do Carro
+    public FrotaCompacta(int capacidade) {
+        this(capacidade, EspecificacaoVeiculo.PADRAO);
+    }
+    
+    // Construtor com uma única especificação personalizada
+    public FrotaCompacta(int capacidade, double potenciaMaxima, double rpmMaximo, double capacidadeTanque,
+                         double raioRoda, double massaVeiculo, double[] marchas) {
+        this(capacidade, new EspecificacaoVeiculo("Personalizado", potenciaMaxima, rpmMaximo, capacidadeTanque,
+                                                  raioRoda, massaVeiculo, marchas));
+    }
+    
+    // Construtor principal: o índice de cada modelo é a sua posição na lista
+    public FrotaCompacta(int capacidade, EspecificacaoVeiculo... modelos) {
+        if (modelos.length == 0) {
+            throw new IllegalArgumentException("A frota precisa de pelo menos um modelo");
+        }
+        this.modelos = modelos.clone();
+        
+        this.velocidadeAtual = new double[capacidade];
+        this.rpm = new double[capacidade];
+        this.torque = new double[capacidade];
+        this.acelerador = new double[capacidade];
+        this.nivelAtual = new double[capacidade];
+        this.velocidadeAngular = new double[capacidade];
+        this.forcaTracao = new double[capacidade];
+        this.marchaAtual = new int[capacidade];
+        this.modelo = new int[capacidade];
+        this.ligado = new long[(capacidade + 63) >>> 6];
+        this.emMarchaRe = new long[(capacidade + 63) >>> 6];
+        
+        int maximoMarchas = 0;
+        for (EspecificacaoVeiculo especificacao : this.modelos) {
+            maximoMarchas = Math.max(maximoMarchas, especificacao.getQuantidadeMarchas());
+        }
+        this.posicoesMarcha = maximoMarchas + RegistroViagem.POSICOES_ESPECIAIS;
+        this.combustivelConsumido = new double[capacidade];
+        this.distanciaPercorrida = new double[capacidade];
+        this.tempoMotorLigado = new double[capacidade];
+        this.tempoZonaVermelha = new double[capacidade];
+        this.tempoPorMarcha = new double[capacidade * posicoesMarcha];
+        this.tamanho = 0;
+    }
+    
+    // Adiciona um carro com o tanque vazio, como o construtor de Carro; retorna o índice
+    public int adicionarCarro() {
+        return adicionarCarro(0.0);
+    }
+    
+    public int adicionarCarro(double combustivelInicial) {
+        return adicionarCarro(0, combustivelInicial);
+    }
+    
+    // Adiciona um carro do modelo informado; retorna -1 se a frota está cheia ou o modelo não existe
+    public int adicionarCarro(int indiceModelo, double combustivelInicial) {
+        if (tamanho >= velocidadeAtual.length || indiceModelo < 0 || indiceModelo >= modelos.length) {
+            return -1;
+        }
+        int i = tamanho++;
+        modelo[i] = indiceModelo;
+        marchaAtual[i] = 0;
+        abastecer(i, combustivelInicial);
+        return i;
+    }
+    
+    // Avança todos os carros um passo
+    public void passo(double deltaTempo) {
+        passo(0, tamanho, deltaTempo);
+    }
+    
+    // Avança os carros [inicio, fim). Para execução em paralelo, os intervalos devem
+    // começar em múltiplos de 64 para que dois threads não escrevam na mesma palavra dos bitsets.
+    public void passo(int inicio, int fim, double deltaTempo) {
+        if (deltaTempo <= 0) {
+            return;
+        }
+        
+        double fatorPasso = deltaTempo / Carro.PASSO_PADRAO;
+        int limite = Math.min(fim, tamanho);
+        
+        for (int i = inicio; i < limite; i++) {
+            if (bit(ligado, i)) {
+                atualizarMotor(i, deltaTempo);
+                
+                if (bit(ligado, i)) {
+                    atualizarTransmissao(i, fatorPasso);
+                } else if (velocidadeAtual[i] > 0) {
+                    // Motor desligou automaticamente - força desaceleração
+                    velocidadeAtual[i] = Math.max(0, velocidadeAtual[i] - 5.0 * fatorPasso);
+                }
+            } else {
+                // Motor desligado - aplica desaceleração natural
+                if (velocidadeAtual[i] > 0) {
+                    velocidadeAtual[i] = Math.max(0, velocidadeAtual[i] - 1.5 * fatorPasso);
+                }
+                rpm[i] = 0.0;
+            }
+            
+            registrarViagem(i, deltaTempo);
+        }
+    }
+    
+    // Equivalente a RegistroViagem.registrar; o combustível é somado em atualizarMotor
+    private void registrarViagem(int i, double deltaTempo) {
+        distanciaPercorrida[i] += velocidadeAtual[i] * deltaTempo / 3600.0;
+        tempoPorMarcha[i * posicoesMarcha + RegistroViagem.posicaoMarcha(marchaAtual[i], bit(emMarchaRe, i))]
+            += deltaTempo;
+        if (bit(ligado, i)) {
+            tempoMotorLigado[i] += deltaTempo;
+        }
+        if (rpm[i] > modelos[modelo[i]].getRpmMaximo() * 0.85) {
+            tempoZonaVermelha[i] += deltaTempo;
+        }
+    }
+    
+    // Equivalente a Motor.atualizar + Motor.consumirCombustivel
+    private void atualizarMotor(int i, double deltaTempo) {
+        if (nivelAtual[i] == 0) {
+            desligarMotor(i);
+            return;
+        }
+        
+        torque[i] = gerarTorque(i);
+        double consumo = Motor.calcularConsumo(rpm[i], torque[i], Motor.CONSUMO_BASE_POR_RPM, deltaTempo);
+        
+        if (consumo <= 0 || nivelAtual[i] < consumo) {
+            desligarMotor(i);
+            return;
+        }
+        
+        nivelAtual[i] -= consumo;
+        combustivelConsumido[i] += consumo;
+        if (nivelAtual[i] == 0) {
+            desligarMotor(i);
+        }
+    }
+    
+    // Equivalente a Carro.atualizarRpmMotor + CaixaDeMarcha.atualizar + resistências
+    private void atualizarTransmissao(int i, double fatorPasso) {
+        EspecificacaoVeiculo especificacao = modelos[modelo[i]];
+        double raioRoda = especificacao.getRaioRoda();
+        double massaVeiculo = especificacao.getMassaVeiculo();
+        double relacao = getRelacao(i);
+        
+        double rpmMaximo = especificacao.getRpmMaximo();
+        double rpmTotal = Carro.calcularRpmMotor(velocidadeAtual[i], relacao, acelerador[i], rpmMaximo);
+        if (rpmTotal >= 0 && rpmTotal <= rpmMaximo) {
+            rpm[i] = rpmTotal;
+            torque[i] = gerarTorque(i);
+        }
+        
+        double torqueTransmitido = relacao == 0.0 ? 0.0 : CaixaDeMarcha.calcularTorqueTransmitido(torque[i], relacao);
+        forcaTracao[i] = Roda.limitarForcaTracao(torqueTransmitido / raioRoda, massaVeiculo,
+                                                 Roda.COEFICIENTE_ATRITO_PADRAO);
+        velocidadeAngular[i] = Roda.integrarVelocidadeAngular(velocidadeAngular[i], torqueTransmitido,
+                                                              raioRoda, massaVeiculo, fatorPasso);
+        if (relacao != 0.0) {
+            velocidadeAngular[i] = rpm[i] / Math.abs(relacao);
+        }
+        
+        if (velocidadeAtual[i] > 0) {
+            double velocidadeLinear = Roda.calcularVelocidadeLinear(velocidadeAngular[i], raioRoda);
+            velocidadeAngular[i] = Roda.reduzirPorResistenciaAr(velocidadeAngular[i], velocidadeLinear,
+                                                                Carro.COEFICIENTE_AERODINAMICO,
+                                                                raioRoda, massaVeiculo);
+            if (acelerador[i] == 0.0) {
+                velocidadeAtual[i] = Math.max(0, velocidadeAtual[i]
+                    - Carro.calcularResistenciaNatural(velocidadeAtual[i]) * fatorPasso);
+            }
+        }
+    }
+    
+    private double gerarTorque(int i) {
+        return modelos[modelo[i]].getCurvaTorque().calcularTorque(rpm[i], acelerador[i]);
+    }
+    
+    private void desligarMotor(int i) {
+        limparBit(ligado, i);
+        acelerador[i] = 0.0;
+        rpm[i] = 0.0;
+        torque[i] = 0.0;
+    }
+    
+    private double getRelacao(int i) {
+        int marcha = marchaAtual[i];
+        if (marcha == CaixaDeMarcha.MARCHA_NEUTRA) {
+            return 0.0;
+        }
+        if (bit(emMarchaRe, i)) {
+            return CaixaDeMarcha.RELACAO_MARCHA_RE;
+        }
+        double[] marchas = modelos[modelo[i]].getMarchasCompartilhadas();
+        return marcha >= 0 && marcha < marchas.length ? marchas[marcha] : 0.0;
+    }
+    
+    private boolean estaEmNeutro(int i) {
+        return marchaAtual[i] == CaixaDeMarcha.MARCHA_NEUTRA;
+    }
+    
+    // Comandos do motorista, com as mesmas regras de Carro
+    public boolean ligar(int i) {
+        if (bit(ligado, i)) {
+            return true;
+        }
+        if (nivelAtual[i] == 0 || nivelAtual[i] < 0.1) {
+            return false;
+        }
+        
+        definirBit(ligado, i);
+        rpm[i] = Motor.RPM_MINIMO_FUNCIONAMENTO;
+        torque[i] = Motor.calcularTorqueMinimo();
+        trocarMarcha(i, 0);
+        return true;
+    }
+    
+    public void desligar(int i) {
+        desligarMotor(i);
+        trocarMarcha(i, CaixaDeMarcha.MARCHA_NEUTRA);
+    }
+    
+    public void acelerar(int i) {
+        acelerar(i, 0.02);
+    }
+    
+    public void acelerar(int i, double incremento) {
+        if (!bit(ligado, i) || estaEmNeutro(i)) {
+            return;
+        }
+        
+        definirAcelerador(i, Math.min(1.0, acelerador[i] + incremento));
+        
+        if (acelerador[i] > 0 && !estaEmNeutro(i)) {
+            velocidadeAtual[i] = Carro.calcularVelocidadeAcelerada(velocidadeAtual[i], torque[i],
+                                                                   getRelacao(i), acelerador[i]);
+        }
+    }
+    
+    public void frear(int i) {
+        frear(i, 0.15);
+    }
+    
+    public void frear(int i, double intensidade) {
+        definirAcelerador(i, Math.max(0.0, acelerador[i] - intensidade));
+        
+        velocidadeAtual[i] = Math.max(0, velocidadeAtual[i] - intensidade * 8.0);
+        if (velocidadeAtual[i] < 0.5) {
+            velocidadeAtual[i] = 0.0;
+        }
+    }
+    
+    private void definirAcelerador(int i, double valor) {
+        if (valor >= 0.0 && valor <= 1.0) {
+            if (valor > 0 && nivelAtual[i] == 0) {
+                desligarMotor(i);
+                return;
+            }
+            acelerador[i] = valor;
+        }
+    }
+    
+    public boolean subirMarcha(int i) {
+        if (!bit(ligado, i)) {
+            return false;
+        }
+        if (bit(emMarchaRe, i) || estaEmNeutro(i)) {
+            return trocarMarcha(i, 0);
+        }
+        return trocarMarcha(i, marchaAtual[i] + 1);
+    }
+    
+    public boolean descerMarcha(int i) {
+        if (!bit(ligado, i)) {
+            return false;
+        }
+        if (bit(emMarchaRe, i) || marchaAtual[i] <= 0) {
+            return false;
+        }
+        return trocarMarcha(i, marchaAtual[i] - 1);
+    }
+    
+    public boolean colocarNeutro(int i) {
+        return trocarMarcha(i, CaixaDeMarcha.MARCHA_NEUTRA);
+    }
+    
+    public boolean colocarMarchaRe(int i) {
+        if (!bit(ligado, i) || velocidadeAtual[i] > 5.0) {
+            return false;
+        }
+        if (rpm[i] < 1000) {
+            definirBit(emMarchaRe, i);
+            marchaAtual[i] = 0;
+            return true;
+        }
+        return false;
+    }
+    
+    private boolean trocarMarcha(int i, int novaMarcha) {
+        int quantidadeMarchas = modelos[modelo[i]].getQuantidadeMarchas();
+        if ((novaMarcha >= 0 && novaMarcha < quantidadeMarchas) || novaMarcha == CaixaDeMarcha.MARCHA_NEUTRA) {
+            marchaAtual[i] = novaMarcha;
+            limparBit(emMarchaRe, i);
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean abastecer(int i, double litros) {
+        if (litros <= 0) {
+            return false;
+        }
+        
+        double capacidadeTanque = modelos[modelo[i]].getCapacidadeTanque();
+        double novoNivel = nivelAtual[i] + litros;
+        if (novoNivel <= capacidadeTanque) {
+            nivelAtual[i] = novoNivel;
+            return true;
+        }
+        nivelAtual[i] = capacidadeTanque;
+        return false;
+    }
+    
+    // Operações sobre os bitsets
+    private static boolean bit(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+    
+    private static void definirBit(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+    
+    private static void limparBit(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+    
+    // Getters
+    public int getTamanho() { return tamanho; }
+    public int getCapacidade() { return velocidadeAtual.length; }
+    public double getVelocidadeAtual(int i) { return velocidadeAtual[i]; }
+    public double getRpm(int i) { return rpm[i]; }
+    public double getTorque(int i) { return torque[i]; }
+    public double getAcelerador(int i) { return acelerador[i]; }
+    public double getNivelCombustivel(int i) { return nivelAtual[i]; }
+    public double getVelocidadeAngular(int i) { return velocidadeAngular[i]; }
+    public double getForcaTracao(int i) { return forcaTracao[i]; }
+    public int getMarchaAtual(int i) { return marchaAtual[i]; }
+    public boolean estaLigado(int i) { return bit(ligado, i); }
+    public boolean isEmMarchaRe(int i) { return bit(emMarchaRe, i); }
+    public int getIndiceModelo(int i) { return modelo[i]; }
+    public EspecificacaoVeiculo getModelo(int i) { return modelos[modelo[i]]; }
+    public double getCapacidadeTanque(int i) { return modelos[modelo[i]].getCapacidadeTanque(); }
+    public double getRpmMaximo(int i) { return modelos[modelo[i]].getRpmMaximo(); }
+    public int getQuantidadeModelos() { return modelos.length; }
+    public double getCombustivelConsumido(int i) { return combustivelConsumido[i]; }
+    public double getDistanciaPercorrida(int i) { return distanciaPercorrida[i]; }
+    public double getTempoMotorLigado(int i) { return tempoMotorLigado[i]; }
+    public double getTempoZonaVermelha(int i) { return tempoZonaVermelha[i]; }
+    
+    // Posição de RegistroViagem: 0 = ré, 1 = neutro, 2 em diante = marchas à frente
+    double getTempoNaPosicao(int i, int posicao) {
+        return posicao < posicoesMarcha ? tempoPorMarcha[i * posicoesMarcha + posicao] : 0.0;
+    }
+    
+    int getPosicoesMarcha() { return posicoesMarcha; }
+    
+    // Colunas na ordem gravada pelo CheckpointFrota. Cada coluna tem capacidade
+    // elementos por carro vezes o passo (posicoesMarcha para tempoPorMarcha, 1 para as demais).
+    double[][] getColunasDouble() {
+        return new double[][] {velocidadeAtual, rpm, torque, acelerador, nivelAtual, velocidadeAngular,
+                               forcaTracao, combustivelConsumido, distanciaPercorrida, tempoMotorLigado,
+                               tempoZonaVermelha, tempoPorMarcha};
+    }
+    
+    int[][] getColunasInt() {
+        return new int[][] {marchaAtual, modelo};
+    }
+    
+    long[][] getColunasBits() {
+        return new long[][] {ligado, emMarchaRe};
+    }
+    
+    // Usado pelo CheckpointFrota depois de preencher as colunas
+    void restaurarTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+    
+    EspecificacaoVeiculo[] getModelos() { return modelos.clone(); }
+    
+    public double getTempoTotal(int i) {
+        double total = 0.0;
+        for (int p = 0; p < posicoesMarcha; p++) {
+            total += tempoPorMarcha[i * posicoesMarcha + p];
+        }
+        return total;
+    }
+    
+    // Consumo médio do carro em litros por 100 km; 0 se o carro não saiu do lugar
+    public double getConsumoMedio(int i) {
+        if (distanciaPercorrida[i] <= 0) return 0.0;
+        return combustivelConsumido[i] / distanciaPercorrida[i] * 100.0;
+    }
+    
+    // Zera os acumuladores de viagem do carro
+    public void iniciarViagem(int i) {
+        combustivelConsumido[i] = 0.0;
+        distanciaPercorrida[i] = 0.0;
+        tempoMotorLigado[i] = 0.0;
+        tempoZonaVermelha[i] = 0.0;
+        Arrays.fill(tempoPorMarcha, i * posicoesMarcha, (i + 1) * posicoesMarcha, 0.0);
+    }
+    
+    public String getDescricaoMarcha(int i) {
+        if (estaEmNeutro(i)) {
+            return "N";
+        } else if (bit(emMarchaRe, i)) {
+            return "R";
+        } else {
+            return String.valueOf(marchaAtual[i] + 1);
+        }
+    }
+    
+    public int contarLigados() {
+        int total = 0;
+        for (long palavra : ligado) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Frota compacta: %d/%d carros, %d ligados", tamanho, getCapacidade(), contarLigados());
+    }
+}
@@ -0,0 +1,287 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Gravador de telemetria por tick em arquivos colunares mapeados em memória.
+// Cada coluna (tick, carro, velocidade, rpm, torque, acelerador, combustível, força de tração
+// e marcha) fica num arquivo próprio de largura fixa, escrito por posição absoluta no
+// MappedByteBuffer, sem criar objetos por amostra. Quando um segmento atinge o tamanho
+// máximo, o gravador passa para o próximo (prefixo-000001.*, prefixo-000002.*, ...).
+//
+// Cada segmento tem também um arquivo .indice com MAGICO, VERSAO, capacidade e a quantidade
+// de amostras gravadas, publicada com escrita release depois dos dados (o leitor lê com acquire).
+// Os arquivos de um segmento são criados com outro nome, preenchidos e só então movidos
+// atomicamente para o nome final, colunas antes do índice: quem encontra o .indice encontra
+// o cabeçalho completo e as colunas no tamanho certo. Outro processo pode abrir o segmento com
+// LeitorTelemetria e ler até essa quantidade enquanto a simulação continua gravando.
+// Um gravador novo apaga os segmentos de uma gravação anterior com o mesmo prefixo antes de
+// abrir o primeiro, para que o leitor não os conte como parte da gravação atual.
+public class GravadorTelemetria implements AutoCloseable {
+    static final int MAGICO = 0x43544C4D;
+    static final int VERSAO = 1;
+    static final int TAMANHO_INDICE = 16;
+    static final int POSICAO_AMOSTRAS = 12; // Posição da quantidade de amostras no .indice
+    static final String EXTENSAO_INDICE = "indice";
+    static final byte MARCHA_RE = -2; // Valor gravado na coluna marcha em ré (neutro = -1)
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+    
+    // Acesso com ordem de memória ao int de amostras no .indice (mesma ordem de bytes do MappedByteBuffer)
+    static final VarHandle INTEIRO = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    
+    // Colunas e suas larguras em bytes
+    static final int COLUNA_TICK = 0;
+    static final int COLUNA_CARRO = 1;
+    static final int COLUNA_VELOCIDADE = 2;
+    static final int COLUNA_RPM = 3;
+    static final int COLUNA_TORQUE = 4;
+    static final int COLUNA_ACELERADOR = 5;
+    static final int COLUNA_COMBUSTIVEL = 6;
+    static final int COLUNA_FORCA_TRACAO = 7;
+    static final int COLUNA_MARCHA = 8;
+    static final String[] NOMES_COLUNAS = {"tick", "carro", "velocidade", "rpm", "torque",
+                                           "acelerador", "combustivel", "forcaTracao", "marcha"};
+    static final int[] LARGURAS_COLUNAS = {8, 4, 4, 4, 4, 4, 4, 4, 1};
+    static final int LARGURA_AMOSTRA = 37; // Soma das larguras
+    
+    private static final long TAMANHO_SEGMENTO_PADRAO = 64L << 20; // 64 MB por segmento
+    
+    private final Path diretorio;
+    private final String prefixo;
+    private final int amostrasPorSegmento;
+    private final MappedByteBuffer[] colunas;
+    private MappedByteBuffer indice;
+    private int segmento;
+    private int amostrasNoSegmento;
+    private long amostrasGravadas;
+    private boolean fechado;
+    
+    // Construtor com segmentos de 64 MB
+    public GravadorTelemetria(Path diretorio, String prefixo) throws IOException {
+        this(diretorio, prefixo, TAMANHO_SEGMENTO_PADRAO);
+    }
+    
+    // tamanhoMaximoSegmento é a soma dos arquivos de coluna de um segmento, em bytes
+    public GravadorTelemetria(Path diretorio, String prefixo, long tamanhoMaximoSegmento) throws IOException {
+        long amostras = tamanhoMaximoSegmento / LARGURA_AMOSTRA;
+        if (amostras < 1 || amostras * LARGURAS_COLUNAS[COLUNA_TICK] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho de segmento inválido: " + tamanhoMaximoSegmento);
+        }
+        this.diretorio = diretorio;
+        this.prefixo = prefixo;
+        this.amostrasPorSegmento = (int) amostras;
+        this.colunas = new MappedByteBuffer[NOMES_COLUNAS.length];
+        this.segmento = 0;
+        this.amostrasGravadas = 0;
+        this.fechado = false;
+        
+        Files.createDirectories(diretorio);
+        apagarSegmentosAnteriores();
+        abrirSegmento(1);
+    }
+    
+    // Índices primeiro, em ordem: sem o .indice do segmento 1, o leitor já não vê nenhum segmento
+    private void apagarSegmentosAnteriores() throws IOException {
+        Pattern nomeSegmento = Pattern.compile(Pattern.quote(prefixo) + "-\\d{6}\\.\\w+"
+                                               + "(" + Pattern.quote(EXTENSAO_TEMPORARIA) + ")?");
+        List<Path> indices = new ArrayList<>();
+        List<Path> demais = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                if (!nomeSegmento.matcher(nome).matches()) {
+                    continue;
+                }
+                if (nome.endsWith("." + EXTENSAO_INDICE)) {
+                    indices.add(arquivo);
+                } else {
+                    demais.add(arquivo);
+                }
+            }
+        }
+        Collections.sort(indices); // Número com zeros à esquerda: ordem do nome é a ordem do segmento
+        for (Path arquivo : indices) {
+            Files.deleteIfExists(arquivo);
+        }
+        for (Path arquivo : demais) {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+    
+    // Nome do arquivo de uma coluna (ou do índice) de um segmento
+    static Path arquivoSegmento(Path diretorio, String prefixo, int segmento, String coluna) {
+        return diretorio.resolve(String.format("%s-%06d.%s", prefixo, segmento, coluna));
+    }
+    
+    private void abrirSegmento(int numero) throws IOException {
+        // Um segmento antigo com o mesmo número deixa de ser visível antes de ser substituído
+        Path arquivoIndice = arquivoSegmento(diretorio, prefixo, numero, EXTENSAO_INDICE);
+        Files.deleteIfExists(arquivoIndice);
+        
+        for (int c = 0; c < colunas.length; c++) {
+            Path arquivo = arquivoSegmento(diretorio, prefixo, numero, NOMES_COLUNAS[c]);
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + EXTENSAO_TEMPORARIA);
+            colunas[c] = mapear(temporario, (long) amostrasPorSegmento * LARGURAS_COLUNAS[c]);
+            publicarArquivo(temporario, arquivo);
+        }
+        
+        Path indiceTemporario = arquivoIndice.resolveSibling(arquivoIndice.getFileName() + EXTENSAO_TEMPORARIA);
+        MappedByteBuffer novoIndice = mapear(indiceTemporario, TAMANHO_INDICE);
+        novoIndice.putInt(0, MAGICO).putInt(4, VERSAO).putInt(8, amostrasPorSegmento).putInt(POSICAO_AMOSTRAS, 0);
+        novoIndice.force();
+        publicarArquivo(indiceTemporario, arquivoIndice);
+        
+        indice = novoIndice;
+        segmento = numero;
+        amostrasNoSegmento = 0;
+    }
+    
+    // O mapeamento continua válido depois que o arquivo é movido
+    private static void publicarArquivo(Path temporario, Path arquivo) throws IOException {
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    // O mapeamento continua válido depois que o canal é fechado
+    private static MappedByteBuffer mapear(Path arquivo, long tamanho) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+        }
+    }
+    
+    // Grava uma amostra; retorna false se o gravador está fechado ou não conseguiu abrir
+    // o próximo segmento
+    public synchronized boolean gravar(int idCarro, EstadoCarro estado) {
+        if (!reservarAmostra()) {
+            return false;
+        }
+        int a = amostrasNoSegmento;
+        byte marcha = estado.isEmMarchaRe() ? MARCHA_RE : (byte) estado.getMarchaAtual();
+        escreverAmostra(a, estado.getTick(), idCarro, estado.getVelocidade(), estado.getRpm(),
+                        estado.getTorque(), estado.getAcelerador(), estado.getNivelCombustivel(),
+                        estado.getForcaTracao(), marcha);
+        concluirAmostras(1);
+        return true;
+    }
+    
+    // Grava o último estado de cada carro da lista, usando a posição na lista como id.
+    // Chamar depois de cada passo da frota (ex.: EscalonadorFrota.passo).
+    public synchronized int gravar(List<Carro> carros) {
+        int gravadas = 0;
+        for (int i = 0; i < carros.size(); i++) {
+            if (!reservarAmostra()) {
+                break;
+            }
+            EstadoCarro estado = carros.get(i).getEstado();
+            byte marcha = estado.isEmMarchaRe() ? MARCHA_RE : (byte) estado.getMarchaAtual();
+            escreverAmostra(amostrasNoSegmento, estado.getTick(), i, estado.getVelocidade(), estado.getRpm(),
+                            estado.getTorque(), estado.getAcelerador(), estado.getNivelCombustivel(),
+                            estado.getForcaTracao(), marcha);
+            concluirAmostras(1);
+            gravadas++;
+        }
+        return gravadas;
+    }
+    
+    // Grava todos os carros de uma frota compacta, lendo direto das colunas da frota.
+    // A frota não conta ticks, então o tick é informado por quem chama.
+    public synchronized int gravar(FrotaCompacta frota, long tick) {
+        int gravadas = 0;
+        for (int i = 0; i < frota.getTamanho(); i++) {
+            if (!reservarAmostra()) {
+                break;
+            }
+            byte marcha = frota.isEmMarchaRe(i) ? MARCHA_RE : (byte) frota.getMarchaAtual(i);
+            escreverAmostra(amostrasNoSegmento, tick, i, frota.getVelocidadeAtual(i), frota.getRpm(i),
+                            frota.getTorque(i), frota.getAcelerador(i), frota.getNivelCombustivel(i),
+                            frota.getForcaTracao(i), marcha);
+            concluirAmostras(1);
+            gravadas++;
+        }
+        return gravadas;
+    }
+    
+    // Garante espaço para mais uma amostra, passando para o próximo segmento se necessário
+    private boolean reservarAmostra() {
+        if (fechado) {
+            return false;
+        }
+        if (amostrasNoSegmento < amostrasPorSegmento) {
+            return true;
+        }
+        try {
+            abrirSegmento(segmento + 1);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Telemetria: não foi possível abrir o segmento " + (segmento + 1) + ": " + e.getMessage());
+            fechado = true;
+            return false;
+        }
+    }
+    
+    private void escreverAmostra(int a, long tick, int idCarro, double velocidade, double rpm, double torque,
+                                 double acelerador, double combustivel, double forcaTracao, byte marcha) {
+        colunas[COLUNA_TICK].putLong(a * 8, tick);
+        colunas[COLUNA_CARRO].putInt(a * 4, idCarro);
+        colunas[COLUNA_VELOCIDADE].putFloat(a * 4, (float) velocidade);
+        colunas[COLUNA_RPM].putFloat(a * 4, (float) rpm);
+        colunas[COLUNA_TORQUE].putFloat(a * 4, (float) torque);
+        colunas[COLUNA_ACELERADOR].putFloat(a * 4, (float) acelerador);
+        colunas[COLUNA_COMBUSTIVEL].putFloat(a * 4, (float) combustivel);
+        colunas[COLUNA_FORCA_TRACAO].putFloat(a * 4, (float) forcaTracao);
+        colunas[COLUNA_MARCHA].put(a, marcha);
+    }
+    
+    // A quantidade no índice só muda depois que os dados da amostra foram escritos; a escrita
+    // release impede que ela fique visível para outro processo antes das colunas
+    private void concluirAmostras(int quantidade) {
+        amostrasNoSegmento += quantidade;
+        amostrasGravadas += quantidade;
+        INTEIRO.setRelease(indice, POSICAO_AMOSTRAS, amostrasNoSegmento);
+    }
+    
+    // Força a escrita do segmento atual no disco (não é necessário para leitores concorrentes)
+    public synchronized void descarregar() {
+        if (fechado) {
+            return;
+        }
+        for (MappedByteBuffer coluna : colunas) {
+            coluna.force();
+        }
+        indice.force();
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (fechado) {
+            return;
+        }
+        descarregar();
+        fechado = true;
+    }
+    
+    // Getters
+    public Path getDiretorio() { return diretorio; }
+    public String getPrefixo() { return prefixo; }
+    public int getAmostrasPorSegmento() { return amostrasPorSegmento; }
+    public synchronized int getSegmentoAtual() { return segmento; }
+    public synchronized long getAmostrasGravadas() { return amostrasGravadas; }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("Telemetria %s: %d amostras em %d segmentos de %d amostras",
+                           arquivoSegmento(diretorio, prefixo, segmento, "*"), amostrasGravadas, segmento,
+                           amostrasPorSegmento);
+    }
+}
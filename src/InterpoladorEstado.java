@@ -0,0 +1,104 @@
+// Valores para exibição entre dois ticks da física.
+// A física publica uma fotografia (EstadoCarro) por tick, num ritmo que não tem relação com o
+// da tela. A cada quadro, o interpolador lê a fotografia atual do carro; quando chega um tick novo,
+// guarda a anterior. Os valores exibidos andam da fotografia anterior até a mais recente ao longo
+// do intervalo medido entre ticks, contado a partir do instante em que a física publicou a
+// fotografia (e não do quadro em que ela foi vista): a tela fica sempre um tick atrás da física,
+// com atraso constante e movimento contínuo, sem herdar a grade dos quadros.
+//
+// Não é thread-safe: deve ser usado só pela thread que desenha (normalmente o EDT).
+public class InterpoladorEstado {
+    private static final long INTERVALO_MAXIMO_NANOS = 1_000_000_000L; // Acima disso, a física estava parada
+    private static final double SUAVIZACAO = 0.25; // Peso de cada intervalo novo na média
+    
+    private final Carro carro;
+    private EstadoCarro anterior;
+    private EstadoCarro atual;
+    private long instanteAtual;     // Quando a fotografia mais recente foi publicada
+    private long ultimaAmostra;
+    private double nanosPorTick;    // Média móvel do intervalo real entre ticks
+    private double fracao;          // 0 = fotografia anterior, 1 = mais recente
+    
+    // Valores interpolados do último quadro
+    private double velocidade;
+    private double rpm;
+    private double nivelCombustivel;
+    
+    public InterpoladorEstado(Carro carro) {
+        this.carro = carro;
+        this.atual = carro.getEstado();
+        this.anterior = atual;
+        this.instanteAtual = atual.getInstantePublicacao();
+        this.ultimaAmostra = System.nanoTime();
+        this.nanosPorTick = Carro.PASSO_PADRAO * 1e9;
+        this.fracao = 1.0;
+        calcular();
+    }
+    
+    // Chamado uma vez por quadro, antes de ler os valores
+    public void amostrar(long agoraNanos) {
+        ultimaAmostra = agoraNanos;
+        EstadoCarro novo = carro.getEstado();
+        if (novo != atual) {
+            long ticks = novo.getTick() - atual.getTick();
+            long decorrido = novo.getInstantePublicacao() - instanteAtual;
+            if (ticks > 0 && decorrido < INTERVALO_MAXIMO_NANOS) {
+                nanosPorTick += SUAVIZACAO * ((double) decorrido / ticks - nanosPorTick);
+                anterior = atual;
+            } else {
+                anterior = novo; // Primeiro tick depois de uma pausa, reset ou restauração: sem transição
+            }
+            atual = novo;
+            instanteAtual = novo.getInstantePublicacao();
+        }
+        
+        // A transição dura um intervalo médio de tick, mesmo quando vários ticks chegaram juntos
+        // (quadro atrasado ou renderização retomada): a tela volta a ficar só um tick atrás
+        if (anterior == atual) {
+            fracao = 1.0;
+        } else {
+            fracao = Math.max(0.0, Math.min(1.0, (agoraNanos - instanteAtual) / nanosPorTick));
+        }
+        calcular();
+    }
+    
+    private void calcular() {
+        velocidade = interpolar(anterior.getVelocidade(), atual.getVelocidade());
+        rpm = interpolar(anterior.getRpm(), atual.getRpm());
+        nivelCombustivel = interpolar(anterior.getNivelCombustivel(), atual.getNivelCombustivel());
+    }
+    
+    private double interpolar(double de, double para) {
+        return de + (para - de) * fracao;
+    }
+    
+    // Verdadeiro enquanto os valores exibidos ainda estão mudando. Depois de alcançar uma fotografia
+    // diferente da anterior, continua verdadeiro por mais dois intervalos, à espera do próximo tick;
+    // fica falso quando a física para ou o carro fica parado ou em regime.
+    public boolean emTransicao() {
+        if (fracao < 1.0) {
+            return true;
+        }
+        boolean mudou = anterior.getVelocidade() != atual.getVelocidade()
+                || anterior.getRpm() != atual.getRpm()
+                || anterior.getNivelCombustivel() != atual.getNivelCombustivel();
+        return mudou && ultimaAmostra - instanteAtual < 2 * nanosPorTick;
+    }
+    
+    // Getters
+    public double getVelocidade() { return velocidade; }
+    public double getRpm() { return rpm; }
+    public double getNivelCombustivel() { return nivelCombustivel; }
+    public double getFracao() { return fracao; }
+    public EstadoCarro getAtual() { return atual; }
+    public EstadoCarro getAnterior() { return anterior; }
+    
+    public double getPercentualCombustivel() {
+        return (nivelCombustivel / atual.getCapacidadeTanque()) * 100;
+    }
+    
+    // Intervalo médio medido entre ticks da física, em milissegundos
+    public double getIntervaloTickMs() {
+        return nanosPorTick / 1e6;
+    }
+}
@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Leitura de um segmento gravado pelo GravadorTelemetria, inclusive enquanto ele ainda está
+// sendo gravado por outro processo. Os arquivos são mapeados só para leitura; getAmostras()
+// relê a quantidade publicada no .indice, e só as amostras abaixo dela estão completas.
+public class LeitorTelemetria {
+    private final int segmento;
+    private final int capacidade;
+    private final MappedByteBuffer indice;
+    private final MappedByteBuffer[] colunas;
+    
+    public LeitorTelemetria(Path diretorio, String prefixo, int segmento) throws IOException {
+        this.segmento = segmento;
+        this.indice = mapear(GravadorTelemetria.arquivoSegmento(diretorio, prefixo, segmento,
+                                                                GravadorTelemetria.EXTENSAO_INDICE),
+                             GravadorTelemetria.TAMANHO_INDICE);
+        if (indice.getInt(0) != GravadorTelemetria.MAGICO) {
+            throw new IOException("Segmento de telemetria inválido: " + prefixo + " " + segmento);
+        }
+        if (indice.getInt(4) != GravadorTelemetria.VERSAO) {
+            throw new IOException("Versão de telemetria não suportada: " + indice.getInt(4));
+        }
+        this.capacidade = indice.getInt(8);
+        
+        String[] nomes = GravadorTelemetria.NOMES_COLUNAS;
+        this.colunas = new MappedByteBuffer[nomes.length];
+        for (int c = 0; c < nomes.length; c++) {
+            colunas[c] = mapear(GravadorTelemetria.arquivoSegmento(diretorio, prefixo, segmento, nomes[c]),
+                                (long) capacidade * GravadorTelemetria.LARGURAS_COLUNAS[c]);
+        }
+    }
+    
+    private static MappedByteBuffer mapear(Path arquivo, long tamanho) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < tamanho) {
+                throw new IOException("Arquivo de telemetria incompleto: " + arquivo);
+            }
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+    }
+    
+    // Quantidade de segmentos com o prefixo no diretório (numerados a partir de 1)
+    public static int contarSegmentos(Path diretorio, String prefixo) {
+        int segmento = 0;
+        while (Files.exists(GravadorTelemetria.arquivoSegmento(diretorio, prefixo, segmento + 1,
+                                                                GravadorTelemetria.EXTENSAO_INDICE))) {
+            segmento++;
+        }
+        return segmento;
+    }
+    
+    // Amostras completas até agora; cresce enquanto o gravador escreve neste segmento.
+    // Leitura acquire, par da escrita release do gravador: as colunas até essa quantidade já estão escritas.
+    public int getAmostras() {
+        return (int) GravadorTelemetria.INTEIRO.getAcquire(indice, GravadorTelemetria.POSICAO_AMOSTRAS);
+    }
+    
+    public boolean estaCompleto() {
+        return getAmostras() >= capacidade;
+    }
+    
+    // Valores da amostra a (0 <= a < getAmostras())
+    public long getTick(int a) { return colunas[GravadorTelemetria.COLUNA_TICK].getLong(a * 8); }
+    public int getCarro(int a) { return colunas[GravadorTelemetria.COLUNA_CARRO].getInt(a * 4); }
+    public float getVelocidade(int a) { return colunas[GravadorTelemetria.COLUNA_VELOCIDADE].getFloat(a * 4); }
+    public float getRpm(int a) { return colunas[GravadorTelemetria.COLUNA_RPM].getFloat(a * 4); }
+    public float getTorque(int a) { return colunas[GravadorTelemetria.COLUNA_TORQUE].getFloat(a * 4); }
+    public float getAcelerador(int a) { return colunas[GravadorTelemetria.COLUNA_ACELERADOR].getFloat(a * 4); }
+    public float getCombustivel(int a) { return colunas[GravadorTelemetria.COLUNA_COMBUSTIVEL].getFloat(a * 4); }
+    public float getForcaTracao(int a) { return colunas[GravadorTelemetria.COLUNA_FORCA_TRACAO].getFloat(a * 4); }
+    
+    // -1 = neutro, GravadorTelemetria.MARCHA_RE = ré, 0 em diante = marchas à frente
+    public int getMarcha(int a) { return colunas[GravadorTelemetria.COLUNA_MARCHA].get(a); }
+    
+    // Getters
+    public int getSegmento() { return segmento; }
+    public int getCapacidade() { return capacidade; }
+    
+    @Override
+    public String toString() {
+        return String.format("Segmento de telemetria %d: %d/%d amostras", segmento, getAmostras(), capacidade);
+    }
+}
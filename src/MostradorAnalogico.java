@@ -0,0 +1,249 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Arc2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Mostrador analógico (velocímetro, conta-giros ou combustível) com ponteiro.
+// Tudo que não muda — fundo, arco, zona vermelha, marcas, números e legenda — é desenhado uma
+// única vez numa imagem guardada, compartilhada por todos os mostradores com a mesma escala e o
+// mesmo tamanho (o cache guarda só os tamanhos usados mais recentemente). Cada quadro só
+// copia essa imagem e desenha o ponteiro (uma linha e um círculo), e setValor() só pede
+// repintura, da área do ponteiro, quando ele se move pelo menos meio grau.
+// A imagem é uma BufferedImage comum: funciona sem aceleração de vídeo e em modo headless,
+// e o Java2D a mantém em memória de vídeo quando houver.
+public class MostradorAnalogico extends JComponent {
+    private static final double ANGULO_INICIAL = 225.0; // Graus: zero da escala embaixo à esquerda
+    private static final double ABERTURA = 270.0;       // Arco percorrido pelo ponteiro, no sentido horário
+    private static final double PASSO_ANGULO = 0.5;     // Menor movimento do ponteiro que causa repintura
+    private static final int TAMANHO_PADRAO = 180;
+    
+    // Cores, fontes e traços criados uma única vez
+    private static final Color COR_FUNDO = new Color(20, 20, 22);
+    private static final Color COR_MOSTRADOR = new Color(30, 32, 36);
+    private static final Color COR_ARCO = new Color(200, 200, 200);
+    private static final Color COR_MARCA = Color.WHITE;
+    private static final Color COR_ZONA_VERMELHA = new Color(220, 40, 40);
+    private static final Color COR_PONTEIRO = new Color(255, 110, 40);
+    private static final Color COR_EIXO = new Color(90, 90, 90);
+    private static final Font FONTE_NUMEROS = new Font("Arial", Font.BOLD, 12);
+    private static final Font FONTE_LEGENDA = new Font("Arial", Font.PLAIN, 11);
+    private static final BasicStroke TRACO_ARCO = new BasicStroke(2f);
+    private static final BasicStroke TRACO_MARCA = new BasicStroke(2f);
+    private static final BasicStroke TRACO_MARCA_MENOR = new BasicStroke(1f);
+    private static final BasicStroke TRACO_ZONA_VERMELHA = new BasicStroke(6f);
+    private static final BasicStroke TRACO_PONTEIRO = new BasicStroke(3f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    
+    // Fundos já desenhados, por escala e tamanho (usado só no EDT). Guarda só os usados mais
+    // recentemente, já que redimensionar a janela gera um tamanho novo a cada passo; quem está
+    // na tela continua com a sua imagem no campo fundo mesmo depois de ela sair do cache.
+    private static final int MAXIMO_FUNDOS = 32;
+    private static final Map<String, BufferedImage> FUNDOS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> maisAntigo) {
+            return size() > MAXIMO_FUNDOS;
+        }
+    };
+    
+    private final double maximo;
+    private final double inicioZonaVermelha;
+    private final double fimZonaVermelha;
+    private final double intervaloMarcas;   // Valor entre marcas numeradas
+    private final int subdivisoes;          // Marcas menores entre duas numeradas
+    private final double divisorNumeros;    // Ex.: 1000 para mostrar RPM em milhares
+    private final String legenda;
+    private final String chaveEscala;
+    
+    private BufferedImage fundo;
+    private double valor;
+    private double anguloExibido = Double.NaN;
+    
+    // Zona vermelha de 'inicioZonaVermelha' até 'fimZonaVermelha' (iguais = sem zona vermelha)
+    public MostradorAnalogico(double maximo, double inicioZonaVermelha, double fimZonaVermelha,
+                              double intervaloMarcas, int subdivisoes, double divisorNumeros, String legenda) {
+        if (maximo <= 0 || intervaloMarcas <= 0 || divisorNumeros <= 0) {
+            throw new IllegalArgumentException("Escala do mostrador inválida");
+        }
+        this.maximo = maximo;
+        this.inicioZonaVermelha = inicioZonaVermelha;
+        this.fimZonaVermelha = fimZonaVermelha;
+        this.intervaloMarcas = intervaloMarcas;
+        this.subdivisoes = Math.max(1, subdivisoes);
+        this.divisorNumeros = divisorNumeros;
+        this.legenda = legenda;
+        this.chaveEscala = maximo + "|" + inicioZonaVermelha + "|" + fimZonaVermelha + "|" + intervaloMarcas
+                         + "|" + this.subdivisoes + "|" + divisorNumeros + "|" + legenda;
+        
+        setOpaque(true);
+        setPreferredSize(new Dimension(TAMANHO_PADRAO, TAMANHO_PADRAO));
+    }
+    
+    // Velocímetro em km/h, marcas a cada 20
+    public static MostradorAnalogico velocimetro(double velocidadeMaxima) {
+        double maximo = Math.ceil(velocidadeMaxima / 20.0) * 20.0;
+        return new MostradorAnalogico(maximo, maximo, maximo, 20.0, 4, 1.0, "km/h");
+    }
+    
+    // Conta-giros em milhares de RPM, com zona vermelha a partir de 85% do máximo,
+    // o mesmo limite de Motor.estaEmZonaVermelha()
+    public static MostradorAnalogico contaGiros(double rpmMaximo) {
+        double maximo = Math.ceil(rpmMaximo / 1000.0) * 1000.0;
+        return new MostradorAnalogico(maximo, rpmMaximo * 0.85, maximo, 1000.0, 5, 1000.0, "x1000 rpm");
+    }
+    
+    // Combustível em litros, com a faixa crítica e de reserva (até 15% do tanque) em vermelho
+    public static MostradorAnalogico combustivel(double capacidadeTanque) {
+        return new MostradorAnalogico(capacidadeTanque, 0.0, capacidadeTanque * 0.15,
+                                      capacidadeTanque / 4.0, 2, 1.0, "L");
+    }
+    
+    // Move o ponteiro; fora da escala, o ponteiro para no limite
+    public void setValor(double novoValor) {
+        valor = novoValor;
+        double angulo = Math.round(calcularAngulo(novoValor) / PASSO_ANGULO) * PASSO_ANGULO;
+        if (angulo == anguloExibido) {
+            return;
+        }
+        if (fundo != null && !Double.isNaN(anguloExibido)) {
+            repintarPonteiro(anguloExibido);
+            repintarPonteiro(angulo);
+        } else {
+            repaint();
+        }
+        anguloExibido = angulo;
+    }
+    
+    private double calcularAngulo(double v) {
+        double fracao = Math.max(0.0, Math.min(1.0, v / maximo));
+        return ANGULO_INICIAL - fracao * ABERTURA;
+    }
+    
+    // Pede repintura só do retângulo ocupado pelo ponteiro nesse ângulo
+    private void repintarPonteiro(double angulo) {
+        int cx = getWidth() / 2, cy = getHeight() / 2;
+        double radianos = Math.toRadians(angulo);
+        int px = cx + (int) Math.round(Math.cos(radianos) * raioPonteiro());
+        int py = cy - (int) Math.round(Math.sin(radianos) * raioPonteiro());
+        int margem = 6;
+        repaint(Math.min(cx, px) - margem, Math.min(cy, py) - margem,
+                Math.abs(px - cx) + 2 * margem, Math.abs(py - cy) + 2 * margem);
+    }
+    
+    private int raio() {
+        return Math.max(10, Math.min(getWidth(), getHeight()) / 2 - 6);
+    }
+    
+    private int raioPonteiro() {
+        return raio() - 14;
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        int largura = getWidth(), altura = getHeight();
+        if (fundo == null || fundo.getWidth() != largura || fundo.getHeight() != altura) {
+            fundo = obterFundo(largura, altura);
+        }
+        g.drawImage(fundo, 0, 0, null);
+        
+        // Ponteiro: a única parte desenhada a cada quadro
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int cx = largura / 2, cy = altura / 2;
+        double radianos = Math.toRadians(Double.isNaN(anguloExibido) ? calcularAngulo(valor) : anguloExibido);
+        int px = cx + (int) Math.round(Math.cos(radianos) * raioPonteiro());
+        int py = cy - (int) Math.round(Math.sin(radianos) * raioPonteiro());
+        g2.setStroke(TRACO_PONTEIRO);
+        g2.setColor(COR_PONTEIRO);
+        g2.drawLine(cx, cy, px, py);
+        g2.setColor(COR_EIXO);
+        g2.fillOval(cx - 5, cy - 5, 10, 10);
+    }
+    
+    private BufferedImage obterFundo(int largura, int altura) {
+        String chave = chaveEscala + "|" + largura + "x" + altura;
+        BufferedImage imagem = FUNDOS.get(chave);
+        if (imagem == null) {
+            imagem = desenharFundo(Math.max(1, largura), Math.max(1, altura));
+            FUNDOS.put(chave, imagem);
+        }
+        return imagem;
+    }
+    
+    // Desenha a parte estática do mostrador; chamado uma vez por escala e tamanho
+    private BufferedImage desenharFundo(int largura, int altura) {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        
+        g.setColor(COR_FUNDO);
+        g.fillRect(0, 0, largura, altura);
+        
+        int cx = largura / 2, cy = altura / 2, raio = raio();
+        g.setColor(COR_MOSTRADOR);
+        g.fillOval(cx - raio, cy - raio, 2 * raio, 2 * raio);
+        
+        // Zona vermelha: faixa larga por dentro do arco
+        if (fimZonaVermelha > inicioZonaVermelha) {
+            double inicio = calcularAngulo(inicioZonaVermelha);
+            double fim = calcularAngulo(fimZonaVermelha);
+            int r = raio - 8;
+            g.setColor(COR_ZONA_VERMELHA);
+            g.setStroke(TRACO_ZONA_VERMELHA);
+            g.draw(new Arc2D.Double(cx - r, cy - r, 2 * r, 2 * r, fim, inicio - fim, Arc2D.OPEN));
+        }
+        
+        int r = raio - 4;
+        g.setColor(COR_ARCO);
+        g.setStroke(TRACO_ARCO);
+        g.draw(new Arc2D.Double(cx - r, cy - r, 2 * r, 2 * r, ANGULO_INICIAL - ABERTURA, ABERTURA, Arc2D.OPEN));
+        
+        // Marcas: numeradas a cada intervaloMarcas, menores entre elas
+        g.setFont(FONTE_NUMEROS);
+        FontMetrics metricas = g.getFontMetrics();
+        double passo = intervaloMarcas / subdivisoes;
+        int quantidade = (int) Math.floor(maximo / passo + 1e-9);
+        for (int i = 0; i <= quantidade; i++) {
+            double v = i * passo;
+            boolean numerada = i % subdivisoes == 0;
+            double radianos = Math.toRadians(calcularAngulo(v));
+            double cos = Math.cos(radianos), sen = Math.sin(radianos);
+            int comprimento = numerada ? 12 : 6;
+            g.setColor(v >= inicioZonaVermelha && v <= fimZonaVermelha && fimZonaVermelha > inicioZonaVermelha
+                       ? COR_ZONA_VERMELHA : COR_MARCA);
+            g.setStroke(numerada ? TRACO_MARCA : TRACO_MARCA_MENOR);
+            g.drawLine(cx + (int) Math.round(cos * (r - comprimento)), cy - (int) Math.round(sen * (r - comprimento)),
+                       cx + (int) Math.round(cos * r), cy - (int) Math.round(sen * r));
+            
+            if (numerada) {
+                String numero = formatarNumero(v / divisorNumeros);
+                int rTexto = r - comprimento - 10;
+                int tx = cx + (int) Math.round(cos * rTexto) - metricas.stringWidth(numero) / 2;
+                int ty = cy - (int) Math.round(sen * rTexto) + metricas.getAscent() / 2 - 1;
+                g.drawString(numero, tx, ty);
+            }
+        }
+        
+        g.setFont(FONTE_LEGENDA);
+        g.setColor(COR_ARCO);
+        metricas = g.getFontMetrics();
+        g.drawString(legenda, cx - metricas.stringWidth(legenda) / 2, cy + raio / 2);
+        
+        g.dispose();
+        return imagem;
+    }
+    
+    private static String formatarNumero(double numero) {
+        long inteiro = Math.round(numero);
+        if (Math.abs(numero - inteiro) < 1e-9) {
+            return Long.toString(inteiro);
+        }
+        return String.format("%.1f", numero);
+    }
+    
+    // Getters
+    public double getValor() { return valor; }
+    public double getMaximo() { return maximo; }
+    public double getInicioZonaVermelha() { return inicioZonaVermelha; }
+}
@@ -1,3 +1,5 @@
+import java.nio.ByteBuffer;
+
 public class Motor {
     private double rpm;
     private double torque;
@@ -8,22 +10,42 @@ public class Motor {
     private double rpmMaximo;
     private double acelerador;
     private double resistenciaMotor;
+    private double combustivelConsumido; // NOVO: Litros consumidos desde a criação do motor
     
     // NOVO: Sistema de notificações para o painel
-    private String ultimaNotificacao;
-    private String tipoNotificacao; // "INFO", "AVISO", "CRITICO"
+    // Guarda só o código e o valor; o texto é montado sob demanda e reaproveitado
+    private NotificacaoMotor codigoNotificacao;
+    private double valorNotificacao;
     private long tempoNotificacao;
+    private String textoNotificacao;
+    private final FilaNotificacoes filaNotificacoes;
+    
+    // Condições contínuas já publicadas na fila. Enquanto a condição continua,
+    // as repetições só renovam a notificação exibida; ao sair e voltar, é um evento novo.
+    private boolean zonaVermelhaNotificada;
+    private NotificacaoMotor avisoCombustivelNotificado; // RESERVA, CRITICO ou null
+    private double valorAvisoCombustivel;
+    
+    // NOVO: Curva de torque pré-calculada, consultada a cada tick
+    private final CurvaTorque curvaTorque;
     
     // Constantes para cálculos do motor
     private static final double TORQUE_MAXIMO_BASE = 300.0;
-    private static final double RPM_MINIMO_FUNCIONAMENTO = 800.0;
-    private static final double CONSUMO_BASE_POR_RPM = 0.000015;
+    static final double RPM_MINIMO_FUNCIONAMENTO = 800.0;
+    static final double CONSUMO_BASE_POR_RPM = 0.000015;
     private static final double FATOR_CONSUMO_TORQUE = 0.000008;
     private static final double INERCIA_MOTOR = 0.2;
-    private static final double RESISTENCIA_PADRAO = 15.0;
+    static final double RESISTENCIA_PADRAO = 15.0;
+    private static final int CAPACIDADE_FILA_NOTIFICACOES = 64;
     
     // Construtor principal
     public Motor(double potenciaMaxima, double rpmMaximo, Tanque tanque) {
+        this(potenciaMaxima, rpmMaximo, tanque,
+             CurvaTorque.calcular(potenciaMaxima, rpmMaximo, RESISTENCIA_PADRAO));
+    }
+    
+    // NOVO: Construtor com curva de torque própria (ex.: medida em dinamômetro)
+    public Motor(double potenciaMaxima, double rpmMaximo, Tanque tanque, CurvaTorque curvaTorque) {
         this.potenciaMaxima = potenciaMaxima;
         this.rpmMaximo = rpmMaximo;
         this.tanque = tanque;
@@ -33,42 +55,89 @@ public class Motor {
         this.ligado = false;
         this.consumoCombustivel = CONSUMO_BASE_POR_RPM;
         this.resistenciaMotor = RESISTENCIA_PADRAO;
+        this.combustivelConsumido = 0.0;
+        this.curvaTorque = curvaTorque;
         
         // NOVO: Inicializa sistema de notificações
-        this.ultimaNotificacao = "";
-        this.tipoNotificacao = "INFO";
+        this.codigoNotificacao = null;
+        this.valorNotificacao = 0.0;
         this.tempoNotificacao = 0;
+        this.textoNotificacao = null;
+        this.filaNotificacoes = new FilaNotificacoes(CAPACIDADE_FILA_NOTIFICACOES);
     }
     
     // NOVO: Métodos para sistema de notificações
-    private void adicionarNotificacao(String mensagem, String tipo) {
-        this.ultimaNotificacao = mensagem;
-        this.tipoNotificacao = tipo;
-        this.tempoNotificacao = System.currentTimeMillis();
+    private void adicionarNotificacao(NotificacaoMotor codigo) {
+        adicionarNotificacao(codigo, 0.0);
+    }
+    
+    // Toda ocorrência é publicada na fila; quem gera condições contínuas
+    // (zona vermelha, níveis de combustível) usa renovarNotificacao() para as repetições
+    private void adicionarNotificacao(NotificacaoMotor codigo, double valor) {
+        long agora = System.currentTimeMillis();
+        double valorExibido = exibirNotificacao(codigo, valor, agora);
+        filaNotificacoes.publicar(codigo, valorExibido, agora);
+    }
+    
+    // A mesma condição continua: atualiza só a notificação exibida, sem novo evento na fila
+    private void renovarNotificacao(NotificacaoMotor codigo, double valor) {
+        exibirNotificacao(codigo, valor, System.currentTimeMillis());
+    }
+    
+    private double exibirNotificacao(NotificacaoMotor codigo, double valor, long agora) {
+        // Arredonda para a precisão exibida (uma casa decimal)
+        double valorExibido = Math.round(valor * 10.0) / 10.0;
+        if (codigo != codigoNotificacao || valorExibido != valorNotificacao) {
+            this.codigoNotificacao = codigo;
+            this.valorNotificacao = valorExibido;
+            this.textoNotificacao = null;
+        }
+        this.tempoNotificacao = agora;
+        return valorExibido;
+    }
+    
+    // NOVO: Histórico de notificações; consumidores drenam a partir do próprio cursor
+    public FilaNotificacoes getFilaNotificacoes() {
+        return filaNotificacoes;
     }
     
     public String getUltimaNotificacao() {
-        return ultimaNotificacao;
+        if (codigoNotificacao == null) {
+            return "";
+        }
+        if (textoNotificacao == null) {
+            textoNotificacao = codigoNotificacao.formatar(valorNotificacao);
+        }
+        return textoNotificacao;
     }
     
     public String getTipoNotificacao() {
-        return tipoNotificacao;
+        return codigoNotificacao != null ? codigoNotificacao.getTipo() : "INFO";
+    }
+    
+    public NotificacaoMotor getCodigoNotificacao() {
+        return codigoNotificacao;
+    }
+    
+    public double getValorNotificacao() {
+        return valorNotificacao;
     }
     
     public boolean temNotificacaoNova() {
-        return !ultimaNotificacao.isEmpty() && 
+        return codigoNotificacao != null && 
                (System.currentTimeMillis() - tempoNotificacao) < 5000;
     }
     
     public void limparNotificacao() {
-        this.ultimaNotificacao = "";
+        this.codigoNotificacao = null;
+        this.textoNotificacao = null;
     }
     
     // CORRIGIDO: Método atualizar com notificações para o painel
     public void atualizar(double deltaTempo) {
         if (tanque == null || tanque.estaVazio()) {
             if (ligado) {
-                adicionarNotificacao("Motor desligado - combustível esgotado!", "CRITICO");
+                adicionarNotificacao(NotificacaoMotor.COMBUSTIVEL_ESGOTADO);
             }
             desligar();
             return;
@@ -84,7 +153,7 @@ public class Motor {
         boolean conseguiuConsumir = consumirCombustivel(deltaTempo);
         
         if (!conseguiuConsumir || tanque.estaVazio()) {
-            adicionarNotificacao("Motor parado - combustível insuficiente!", "CRITICO");
+            adicionarNotificacao(NotificacaoMotor.COMBUSTIVEL_INSUFICIENTE);
             desligar();
             return;
         }
@@ -98,10 +167,23 @@ public class Motor {
         
         double percentual = tanque.getPercentualCombustivel();
         
+        NotificacaoMotor aviso = null;
         if (percentual <= 5.0 && percentual > 0) {
-            adicionarNotificacao("ATENÇÃO: Combustível crítico (" + String.format("%.1f", percentual) + "%)", "CRITICO");
+            aviso = NotificacaoMotor.COMBUSTIVEL_CRITICO;
         } else if (percentual <= 15.0) {
-            adicionarNotificacao("AVISO: Combustível na reserva (" + String.format("%.1f", percentual) + "%)", "AVISO");
+            aviso = NotificacaoMotor.COMBUSTIVEL_RESERVA;
+        }
+        
+        // Entrar na faixa é um evento; dentro dela, cada novo valor exibido também é publicado
+        double valorExibido = Math.round(percentual * 10.0) / 10.0;
+        if (aviso == null) {
+            avisoCombustivelNotificado = null;
+        } else if (aviso != avisoCombustivelNotificado || valorExibido != valorAvisoCombustivel) {
+            avisoCombustivelNotificado = aviso;
+            valorAvisoCombustivel = valorExibido;
+            adicionarNotificacao(aviso, percentual);
+        } else {
+            renovarNotificacao(aviso, percentual);
         }
     }
     
@@ -115,14 +197,15 @@ public class Motor {
             return false;
         }
         
-        double consumoRpm = rpm * consumoCombustivel * deltaTempo;
-        double consumoTorque = torque * FATOR_CONSUMO_TORQUE * deltaTempo;
-        double consumoTotal = consumoRpm + consumoTorque;
+        double consumoTotal = calcularConsumo(rpm, torque, consumoCombustivel, deltaTempo);
         
         boolean sucesso = tanque.consumirCombustivel(consumoTotal);
+        if (sucesso) {
+            combustivelConsumido += consumoTotal;
+        }
         
         if (!sucesso || tanque.estaVazio()) {
-            adicionarNotificacao("Combustível esgotado - motor desligando...", "CRITICO");
+            adicionarNotificacao(NotificacaoMotor.DESLIGANDO_SEM_COMBUSTIVEL);
             desligar();
             return false;
         }
@@ -130,33 +213,46 @@ public class Motor {
         return true;
     }
     
+    // NOVO: Consumo de vários ticks de regime de uma vez, usado pelo avanço rápido do Carro.
+    // Quem chama garante que o tanque não chega a nenhum limiar de aviso nem esvazia e que,
+    // dentro da faixa de aviso, o valor exibido do percentual não muda (não há aviso a publicar).
+    void consumirEmRegime(double litros) {
+        tanque.setNivelAtual(tanque.getNivelAtual() - litros);
+        combustivelConsumido += litros;
+    }
+    
     public boolean ligar() {
         if (tanque == null) {
-            adicionarNotificacao("Erro: Tanque não conectado!", "CRITICO");
+            adicionarNotificacao(NotificacaoMotor.TANQUE_DESCONECTADO);
             return false;
         }
         
         if (tanque.estaVazio()) {
-            adicionarNotificacao("Não é possível ligar - tanque vazio!", "CRITICO");
+            adicionarNotificacao(NotificacaoMotor.TANQUE_VAZIO);
             return false;
         }
         
         if (tanque.getNivelAtual() < 0.1) {
-            adicionarNotificacao("Combustível insuficiente para ligar!", "CRITICO");
+            adicionarNotificacao(NotificacaoMotor.COMBUSTIVEL_INSUFICIENTE_PARTIDA);
             return false;
         }
         
+        boolean estavaLigado = ligado;
         ligado = true;
         rpm = RPM_MINIMO_FUNCIONAMENTO;
         torque = calcularTorqueMinimo();
-        adicionarNotificacao("Motor ligado com sucesso!", "INFO");
+        if (estavaLigado) {
+            renovarNotificacao(NotificacaoMotor.MOTOR_LIGADO, 0.0);
+        } else {
+            adicionarNotificacao(NotificacaoMotor.MOTOR_LIGADO);
+        }
         return true;
     }
     
     public void setAcelerador(double valor) {
         if (valor >= 0.0 && valor <= 1.0) {
             if (valor > 0 && (tanque == null || tanque.estaVazio())) {
-                adicionarNotificacao("Não é possível acelerar - sem combustível!", "AVISO");
+                adicionarNotificacao(NotificacaoMotor.ACELERACAO_SEM_COMBUSTIVEL);
                 this.acelerador = 0.0;
                 desligar();
                 return;
@@ -173,55 +269,81 @@ public class Motor {
                 this.torque = gerarTorque();
             }
             
+            // Um evento por entrada na zona vermelha; enquanto continua nela, só renova
             if (rpm > rpmMaximo * 0.9 && ligado) {
-                adicionarNotificacao("ATENÇÃO: Motor em zona vermelha!", "AVISO");
+                if (zonaVermelhaNotificada) {
+                    renovarNotificacao(NotificacaoMotor.ZONA_VERMELHA, 0.0);
+                } else {
+                    zonaVermelhaNotificada = true;
+                    adicionarNotificacao(NotificacaoMotor.ZONA_VERMELHA);
+                }
+            } else {
+                zonaVermelhaNotificada = false;
             }
         }
     }
     
     public void desligar() {
+        zonaVermelhaNotificada = false;
         ligado = false;
         acelerador = 0.0;
         rpm = 0.0;
         torque = 0.0;
     }
     
-    // NOVO: Método desligar com notificação
+    // NOVO: Método desligar com notificação (só quando o motor estava ligado)
     public void desligarComNotificacao() {
+        boolean estavaLigado = ligado;
         desligar();
-        adicionarNotificacao("Motor desligado", "INFO");
+        if (estavaLigado) {
+            adicionarNotificacao(NotificacaoMotor.MOTOR_DESLIGADO);
+        }
     }
     
     public double gerarTorque() {
-        if (!ligado || rpm <= 0) {
+        if (!ligado) {
+            return 0.0;
+        }
+        return curvaTorque.calcularTorque(rpm, acelerador);
+    }
+    
+    // NOVO: Cálculos do motor sem estado, usados para montar a CurvaTorque
+    static double calcularTorque(double rpm, double acelerador, double potenciaMaxima,
+                                 double rpmMaximo, double resistenciaMotor) {
+        if (rpm <= 0) {
             return 0.0;
         }
         
-        double torqueMaximo = calcularTorqueMaximo();
-        double fatorRpm = calcularFatorTorqueRpm();
+        double torqueMaximo = calcularTorqueMaximo(rpm, potenciaMaxima);
+        double fatorRpm = calcularFatorTorqueRpm(rpm, rpmMaximo);
         double torqueBruto = torqueMaximo * acelerador * fatorRpm;
         
         if (acelerador == 0.0 && rpm <= RPM_MINIMO_FUNCIONAMENTO * 1.2) {
             torqueBruto = calcularTorqueMinimo();
         }
         
-        double torqueLiquido = aplicarResistenciaMotor(torqueBruto);
+        double torqueLiquido = torqueBruto - calcularResistenciaTotal(rpm, rpmMaximo, resistenciaMotor);
         return Math.max(0, torqueLiquido);
     }
     
-    private double aplicarResistenciaMotor(double torqueBruto) {
+    static double calcularConsumo(double rpm, double torque, double consumoPorRpm, double deltaTempo) {
+        double consumoRpm = rpm * consumoPorRpm * deltaTempo;
+        double consumoTorque = torque * FATOR_CONSUMO_TORQUE * deltaTempo;
+        return consumoRpm + consumoTorque;
+    }
+    
+    static double calcularResistenciaTotal(double rpm, double rpmMaximo, double resistenciaMotor) {
         double resistenciaBase = resistenciaMotor;
-        double resistenciaRpm = calcularResistenciaRpm();
-        double resistenciaTotal = resistenciaBase + resistenciaRpm;
-        return torqueBruto - resistenciaTotal;
+        double resistenciaRpm = calcularResistenciaRpm(rpm, rpmMaximo, resistenciaMotor);
+        return resistenciaBase + resistenciaRpm;
     }
     
-    private double calcularResistenciaRpm() {
+    private static double calcularResistenciaRpm(double rpm, double rpmMaximo, double resistenciaMotor) {
         double fatorRpm = rpm / rpmMaximo;
         return resistenciaMotor * 0.3 * fatorRpm * fatorRpm;
     }
     
-    private double calcularTorqueMaximo() {
+    static double calcularTorqueMaximo(double rpm, double potenciaMaxima) {
         if (rpm > 100) {
             double omega = 2 * Math.PI * rpm / 60.0;
             double torquePorPotencia = (potenciaMaxima * 1000) / omega;
@@ -230,7 +352,7 @@ public class Motor {
         return TORQUE_MAXIMO_BASE;
     }
     
-    private double calcularFatorTorqueRpm() {
+    static double calcularFatorTorqueRpm(double rpm, double rpmMaximo) {
         double rpmNormalizado = rpm / rpmMaximo;
         
         if (rpmNormalizado < 0.2) {
@@ -242,10 +364,34 @@ public class Motor {
         }
     }
     
-    private double calcularTorqueMinimo() {
+    static double calcularTorqueMinimo() {
         return TORQUE_MAXIMO_BASE * 0.08;
     }
     
+    // NOVO: Estado para o CheckpointFrota (41 bytes). As notificações não fazem parte
+    // do estado salvo: o carro restaurado começa com a fila vazia.
+    void salvarEstado(ByteBuffer buffer) {
+        buffer.putDouble(rpm).putDouble(torque).putDouble(consumoCombustivel)
+              .putDouble(acelerador).putDouble(combustivelConsumido).put((byte) (ligado ? 1 : 0));
+    }
+    
+    void restaurarEstado(ByteBuffer buffer) {
+        rpm = buffer.getDouble();
+        torque = buffer.getDouble();
+        consumoCombustivel = buffer.getDouble();
+        acelerador = buffer.getDouble();
+        combustivelConsumido = buffer.getDouble();
+        ligado = buffer.get() != 0;
+    }
+    
+    // NOVO: Usado na bifurcação, que continua a simulação do mesmo ponto: a cópia sabe quais
+    // avisos a origem já publicou e não publica de novo a entrada na zona vermelha ou na reserva
+    void copiarAvisosDe(Motor origem) {
+        zonaVermelhaNotificada = origem.zonaVermelhaNotificada;
+        avisoCombustivelNotificado = origem.avisoCombustivelNotificado;
+        valorAvisoCombustivel = origem.valorAvisoCombustivel;
+    }
+    
     // Getters
     public double getRpm() { return rpm; }
     public double getTorque() { return torque; }
@@ -256,6 +402,8 @@ public class Motor {
     public double getRpmMaximo() { return rpmMaximo; }
     public double getAcelerador() { return acelerador; }
     public double getResistenciaMotor() { return resistenciaMotor; }
+    public double getCombustivelConsumido() { return combustivelConsumido; }
+    public CurvaTorque getCurvaTorque() { return curvaTorque; }
     public double getRPM() { return rpm; }
     
     public double getPotenciaAtual() {
@@ -0,0 +1,47 @@
+// Códigos das notificações geradas pelo motor.
+// O motor guarda apenas o código e um valor numérico; o texto só é montado
+// quando alguém vai exibir a notificação (formatar).
+public enum NotificacaoMotor {
+    MOTOR_LIGADO("Motor ligado com sucesso!", "INFO"),
+    MOTOR_DESLIGADO("Motor desligado", "INFO"),
+    COMBUSTIVEL_ESGOTADO("Motor desligado - combustível esgotado!", "CRITICO"),
+    COMBUSTIVEL_INSUFICIENTE("Motor parado - combustível insuficiente!", "CRITICO"),
+    DESLIGANDO_SEM_COMBUSTIVEL("Combustível esgotado - motor desligando...", "CRITICO"),
+    COMBUSTIVEL_CRITICO("ATENÇÃO: Combustível crítico (%.1f%%)", "CRITICO"),
+    COMBUSTIVEL_RESERVA("AVISO: Combustível na reserva (%.1f%%)", "AVISO"),
+    TANQUE_DESCONECTADO("Erro: Tanque não conectado!", "CRITICO"),
+    TANQUE_VAZIO("Não é possível ligar - tanque vazio!", "CRITICO"),
+    COMBUSTIVEL_INSUFICIENTE_PARTIDA("Combustível insuficiente para ligar!", "CRITICO"),
+    ACELERACAO_SEM_COMBUSTIVEL("Não é possível acelerar - sem combustível!", "AVISO"),
+    ZONA_VERMELHA("ATENÇÃO: Motor em zona vermelha!", "AVISO");
+    
+    private final String mensagem;
+    private final String tipo; // "INFO", "AVISO", "CRITICO"
+    private final boolean temValor;
+    private final int gravidade;
+    
+    NotificacaoMotor(String mensagem, String tipo) {
+        this.mensagem = mensagem;
+        this.tipo = tipo;
+        this.temValor = mensagem.contains("%.1f");
+        this.gravidade = tipo.equals("CRITICO") ? 2 : tipo.equals("AVISO") ? 1 : 0;
+    }
+    
+    public String getTipo() {
+        return tipo;
+    }
+    
+    // 0 = INFO, 1 = AVISO, 2 = CRITICO
+    public int getGravidade() {
+        return gravidade;
+    }
+    
+    public boolean temValor() {
+        return temValor;
+    }
+    
+    // Monta o texto da notificação; só aloca quando a mensagem tem valor
+    public String formatar(double valor) {
+        return temValor ? String.format(mensagem, valor) : mensagem;
+    }
+}
@@ -0,0 +1,17 @@
+// Recebe as mudanças de estado publicadas por um Carro.
+// O carro compara cada fotografia nova com a anterior e chama o ouvinte uma única vez
+// com todas as mudanças agrupadas numa máscara de bits; se nada mudou, não há chamada.
+// A chamada acontece na thread que atualiza o carro.
+public interface OuvinteTelemetria {
+    int VELOCIDADE = 1;          // Velocidade exibida (0,1 km/h) mudou
+    int MARCHA = 1 << 1;         // Marcha ou ré mudou
+    int RPM = 1 << 2;            // RPM exibido (inteiro) mudou
+    int FAIXA_RPM = 1 << 3;      // Mudou entre parado, normal, alto e zona vermelha
+    int COMBUSTIVEL = 1 << 4;    // Nível exibido (0,1 L) mudou
+    int FAIXA_COMBUSTIVEL = 1 << 5; // Mudou entre normal, reserva, crítico e vazio
+    int MOTOR = 1 << 6;          // Motor ligou ou desligou
+    int NOTIFICACAO = 1 << 7;    // Há notificações novas na fila do motor
+    int TODAS = (1 << 8) - 1;
+    
+    void aoMudar(Carro carro, EstadoCarro estado, int mudancas);
+}
@@ -4,6 +4,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.text.DecimalFormatSymbols;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Painel extends JFrame {
     private Carro carro;
@@ -15,10 +17,20 @@ public class Painel extends JFrame {
     private JLabel lblRPM;
     private JLabel lblMarcha;
     
+    // NOVO: Mostradores analógicos; só o ponteiro é desenhado a cada quadro
+    private MostradorAnalogico mostradorVelocidade;
+    private MostradorAnalogico mostradorRpm;
+    private MostradorAnalogico mostradorCombustivel;
+    
     // NOVO: Componentes para notificações
     private JPanel painelNotificacoes;
     private JLabel lblNotificacao;
-    private Timer timerNotificacao;
+    
+    // NOVO: Cursor na fila de notificações do motor e a notificação mais grave drenada
+    private long cursorNotificacoes;
+    private NotificacaoMotor notificacaoDrenada;
+    private double valorNotificacaoDrenada;
+    private final FilaNotificacoes.Consumidor consumidorNotificacoes = this::receberNotificacao;
     
     // Botões de controle
     private JButton btnAcelerar;
@@ -31,17 +43,88 @@ public class Painel extends JFrame {
     private JButton btnMarchaRe;
     private JButton btnNeutro;
     
-    // Timers
-    private Timer timerAtualizacao;
-    private Timer timerAceleracao;
-    private Timer timerFrenagem;
+    // MODIFICADO: Tarefas do agendador central no lugar de um Timer por ação
+    private final AgendadorCentral.Tarefa tarefaAceleracao;
+    private final AgendadorCentral.Tarefa tarefaFrenagem;
+    private final AgendadorCentral.Tarefa tarefaLimpeza;
+    private final AgendadorCentral.Tarefa tarefaPiscar;
+    private int contadorPiscar;
+    
+    // NOVO: O painel é atualizado por eventos de telemetria do carro, sem polling.
+    // Mudanças que chegam antes da atualização anterior rodar são acumuladas numa só.
+    private final OuvinteTelemetria ouvinteTelemetria = this::receberTelemetria;
+    private final AtomicInteger mudancasPendentes = new AtomicInteger();
+    private final AgendadorCentral.Tarefa tarefaCoalescencia;
+    private volatile int intervaloAtualizacao;
+    private boolean pausado;
+    
+    // NOVO: Velocidade, RPM e combustível são desenhados por um laço de quadros que interpola entre
+    // as duas últimas fotografias da física; só roda enquanto esses valores estão mudando
+    private static final int INTERVALO_QUADRO = 20; // ms (50 quadros/s, múltiplo da resolução do agendador)
+    private static final int MUDANCAS_INTERPOLADAS = OuvinteTelemetria.VELOCIDADE | OuvinteTelemetria.RPM
+                                                   | OuvinteTelemetria.COMBUSTIVEL;
+    private final InterpoladorEstado interpolador;
+    private final AgendadorCentral.Tarefa tarefaQuadro;
+    
+    // MODIFICADO: Cores e fontes criadas uma única vez para todos os painéis
+    private static final Color COR_LIGAR = new Color(144, 238, 144);
+    private static final Color COR_DESLIGAR = new Color(255, 182, 193);
+    private static final Color COR_ACELERAR = new Color(173, 216, 230);
+    private static final Color COR_ACELERAR_PRESSIONADO = new Color(100, 149, 237);
+    private static final Color COR_FREAR = new Color(255, 218, 185);
+    private static final Color COR_ABASTECER = new Color(255, 255, 224);
+    private static final Color COR_LARANJA = new Color(255, 140, 0);
+    private static final Color COR_FUNDO_CRITICO = new Color(255, 200, 200);
+    private static final Color COR_TEXTO_CRITICO = new Color(139, 0, 0);
+    private static final Color COR_FUNDO_AVISO = new Color(255, 255, 200);
+    private static final Color COR_TEXTO_AVISO = new Color(184, 134, 11);
+    private static final Color COR_FUNDO_INFO = new Color(200, 255, 200);
+    private static final Color COR_TEXTO_INFO = new Color(0, 100, 0);
+    private static final Color COR_PISCAR = new Color(255, 100, 100);
+    private static final Color COR_FUNDO_INFORMACOES = new Color(240, 248, 255);
+    private static final Color COR_FUNDO_CONTROLES = new Color(245, 245, 245);
+    private static final Color COR_FUNDO_STATUS = new Color(248, 248, 255);
+    private static final Color COR_TEXTO_STATUS = new Color(70, 70, 70);
+    private static final Font FONTE_TITULO = new Font("Arial", Font.BOLD, 16);
+    private static final Font FONTE_INFO = new Font("Arial", Font.BOLD, 14);
+    private static final Font FONTE_BOTAO = new Font("Arial", Font.BOLD, 12);
+    private static final Font FONTE_STATUS = new Font("Arial", Font.ITALIC, 12);
+    private static final char SEPARADOR_DECIMAL = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    
+    // NOVO: Últimos valores exibidos, já arredondados para a precisão da tela.
+    // Um componente só é alterado quando o valor exibido nele muda.
+    private static final long NUNCA_EXIBIDO = Long.MIN_VALUE;
+    private long velocidadeExibida = NUNCA_EXIBIDO;   // Décimos de km/h
+    private long rpmExibido = NUNCA_EXIBIDO;
+    private int faixaRpmExibida = -1;
+    private long combustivelExibido = NUNCA_EXIBIDO;  // Décimos de litro
+    private long percentualExibido = NUNCA_EXIBIDO;   // Décimos de %
+    private int faixaCombustivelExibida = -1;
+    private int marchaExibida = Integer.MIN_VALUE;
+    private int motorExibido = -1;                    // 0 = desligado, 1 = ligado
+    private final StringBuilder texto = new StringBuilder(64);
     
     public Painel(Carro carro) {
         this.carro = carro;
         
+        AgendadorCentral agendador = AgendadorCentral.getInstancia();
+        this.tarefaAceleracao = agendador.criarPeriodica(120, () -> {
+            carro.acelerar();
+            atualizarPainel();
+        });
+        this.tarefaFrenagem = agendador.criarPeriodica(100, () -> {
+            carro.frear();
+            atualizarPainel();
+        });
+        this.tarefaCoalescencia = agendador.criar(this::processarMudancas);
+        this.tarefaLimpeza = agendador.criar(this::limparNotificacao);
+        this.tarefaPiscar = agendador.criarPeriodica(300, this::alternarPiscar);
+        this.interpolador = new InterpoladorEstado(carro);
+        this.tarefaQuadro = agendador.criarPeriodica(INTERVALO_QUADRO, this::desenharQuadro);
+        
         setTitle("Simulador de Carro - Painel de Controle");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(900, 750);
+        setSize(900, 950);
         setLocationRelativeTo(null);
         setResizable(false);
         
@@ -49,12 +132,8 @@ public class Painel extends JFrame {
         configurarLayout();
         adicionarListeners();
         
-        timerAtualizacao = new Timer(100, e -> atualizarPainel());
-        timerAtualizacao.start();
-        
-        // NOVO: Timer para verificar notificações
-        timerNotificacao = new Timer(500, e -> verificarNotificacoes());
-        timerNotificacao.start();
+        // NOVO: Recebe as mudanças do carro em vez de consultar tudo periodicamente
+        carro.adicionarOuvinte(ouvinteTelemetria);
         
         atualizarPainel();
         setVisible(true);
@@ -67,10 +146,19 @@ public class Painel extends JFrame {
         lblEstadoMotor = new JLabel("Motor: DESLIGADO");
         lblRPM = new JLabel("RPM: 0");
         lblMarcha = new JLabel("Marcha: N");
+        
+        // NOVO: Escalas dos mostradores a partir da especificação do carro
+        double velocidadeMaxima = 0;
+        for (double relacao : carro.getEspecificacao().getMarchas()) {
+            velocidadeMaxima = Math.max(velocidadeMaxima, Carro.calcularVelocidadeMaximaMarcha(relacao));
+        }
+        mostradorVelocidade = MostradorAnalogico.velocimetro(velocidadeMaxima);
+        mostradorRpm = MostradorAnalogico.contaGiros(carro.getMotor().getRpmMaximo());
+        mostradorCombustivel = MostradorAnalogico.combustivel(carro.getEspecificacao().getCapacidadeTanque());
 
         // NOVO: Componentes de notificação
         lblNotificacao = new JLabel("Sistema funcionando normalmente");
-        lblNotificacao.setFont(new Font("Arial", Font.BOLD, 14));
+        lblNotificacao.setFont(FONTE_INFO);
         lblNotificacao.setHorizontalAlignment(SwingConstants.CENTER);
         lblNotificacao.setOpaque(true);
         lblNotificacao.setBackground(Color.WHITE);
@@ -80,16 +168,15 @@ public class Painel extends JFrame {
         painelNotificacoes = new JPanel(new BorderLayout());
         painelNotificacoes.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Notificações do Sistema", 
-            0, 0, new Font("Arial", Font.BOLD, 12)));
+            0, 0, FONTE_BOTAO));
         painelNotificacoes.add(lblNotificacao, BorderLayout.CENTER);
         painelNotificacoes.setPreferredSize(new Dimension(880, 70));
         
         // Configuração visual dos labels
-        Font fontInfo = new Font("Arial", Font.BOLD, 14);
         JLabel[] labels = {lblCombustivel, lblVelocidade, lblEstadoMotor, lblRPM, lblMarcha};
         
         for (JLabel label : labels) {
-            label.setFont(fontInfo);
+            label.setFont(FONTE_INFO);
             label.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         }
         
@@ -105,34 +192,47 @@ public class Painel extends JFrame {
         btnNeutro = new JButton("Neutro");
         
         // Configuração visual dos botões
-        Font fontBotao = new Font("Arial", Font.BOLD, 12);
         JButton[] botoes = {btnAcelerar, btnFrear, btnSubirMarcha, btnDescerMarcha, 
                            btnLigarMotor, btnDesligarMotor, btnAbastecer, btnMarchaRe, btnNeutro};
         
         for (JButton botao : botoes) {
-            botao.setFont(fontBotao);
+            botao.setFont(FONTE_BOTAO);
             botao.setPreferredSize(new Dimension(130, 45));
             botao.setFocusPainted(false);
         }
         
         // Cores específicas para alguns botões
-        btnLigarMotor.setBackground(new Color(144, 238, 144));
-        btnDesligarMotor.setBackground(new Color(255, 182, 193));
-        btnAcelerar.setBackground(new Color(173, 216, 230));
-        btnFrear.setBackground(new Color(255, 218, 185));
-        btnAbastecer.setBackground(new Color(255, 255, 224));
+        btnLigarMotor.setBackground(COR_LIGAR);
+        btnDesligarMotor.setBackground(COR_DESLIGAR);
+        btnAcelerar.setBackground(COR_ACELERAR);
+        btnFrear.setBackground(COR_FREAR);
+        btnAbastecer.setBackground(COR_ABASTECER);
         
         btnAcelerar.setToolTipText("Mantenha pressionado para acelerar continuamente");
         btnFrear.setToolTipText("Mantenha pressionado para frear continuamente");
     }
     
-    // NOVO: Método para verificar e exibir notificações do motor
+    // MODIFICADO: Drena todas as notificações do motor desde a última verificação,
+    // para que eventos rápidos (ex.: motor ligado seguido de zona vermelha) não se percam.
+    // Entre os eventos drenados, exibe o mais grave (e, entre iguais, o mais recente).
     private void verificarNotificacoes() {
-        if (carro.getMotor().temNotificacaoNova()) {
-            String mensagem = carro.getMotor().getUltimaNotificacao();
-            String tipo = carro.getMotor().getTipoNotificacao();
-            
-            exibirNotificacao(mensagem, tipo);
+        FilaNotificacoes fila = carro.getMotor().getFilaNotificacoes();
+        if (!fila.temNovas(cursorNotificacoes)) {
+            return;
+        }
+        
+        notificacaoDrenada = null;
+        cursorNotificacoes = fila.drenar(cursorNotificacoes, consumidorNotificacoes);
+        
+        if (notificacaoDrenada != null) {
+            exibirNotificacao(notificacaoDrenada.formatar(valorNotificacaoDrenada), notificacaoDrenada.getTipo());
+        }
+    }
+    
+    private void receberNotificacao(long sequencia, NotificacaoMotor codigo, double valor, long tempo) {
+        if (notificacaoDrenada == null || codigo.getGravidade() >= notificacaoDrenada.getGravidade()) {
+            notificacaoDrenada = codigo;
+            valorNotificacaoDrenada = valor;
         }
     }
     
@@ -143,16 +243,16 @@ public class Painel extends JFrame {
         // Define cor baseada no tipo
         switch (tipo) {
             case "CRITICO":
-                lblNotificacao.setBackground(new Color(255, 200, 200));
-                lblNotificacao.setForeground(new Color(139, 0, 0));
+                lblNotificacao.setBackground(COR_FUNDO_CRITICO);
+                lblNotificacao.setForeground(COR_TEXTO_CRITICO);
                 break;
             case "AVISO":
-                lblNotificacao.setBackground(new Color(255, 255, 200));
-                lblNotificacao.setForeground(new Color(184, 134, 11));
+                lblNotificacao.setBackground(COR_FUNDO_AVISO);
+                lblNotificacao.setForeground(COR_TEXTO_AVISO);
                 break;
             case "INFO":
-                lblNotificacao.setBackground(new Color(200, 255, 200));
-                lblNotificacao.setForeground(new Color(0, 100, 0));
+                lblNotificacao.setBackground(COR_FUNDO_INFO);
+                lblNotificacao.setForeground(COR_TEXTO_INFO);
                 break;
             default:
                 lblNotificacao.setBackground(Color.WHITE);
@@ -164,37 +264,35 @@ public class Painel extends JFrame {
             piscarNotificacao();
         }
         
-        // Auto-limpa a notificação após 5 segundos
-        Timer timerLimpeza = new Timer(5000, e -> {
-            lblNotificacao.setText("Sistema funcionando normalmente");
-            lblNotificacao.setBackground(Color.WHITE);
-            lblNotificacao.setForeground(Color.GRAY);
-            carro.getMotor().limparNotificacao();
-        });
-        timerLimpeza.setRepeats(false);
-        timerLimpeza.start();
+        // Auto-limpa a notificação após 5 segundos (uma nova notificação adia a limpeza)
+        tarefaLimpeza.reagendar(5000);
+    }
+    
+    private void limparNotificacao() {
+        lblNotificacao.setText("Sistema funcionando normalmente");
+        lblNotificacao.setBackground(Color.WHITE);
+        lblNotificacao.setForeground(Color.GRAY);
+        carro.getMotor().limparNotificacao();
     }
     
     // NOVO: Método para piscar notificações críticas
     private void piscarNotificacao() {
-        Timer timerPiscar = new Timer(300, null);
-        final int[] contador = {0};
-        
-        timerPiscar.addActionListener(e -> {
-            if (contador[0] < 6) {
-                if (contador[0] % 2 == 0) {
-                    lblNotificacao.setBackground(new Color(255, 100, 100));
-                } else {
-                    lblNotificacao.setBackground(new Color(255, 200, 200));
-                }
-                contador[0]++;
+        contadorPiscar = 0;
+        tarefaPiscar.reagendar(300);
+    }
+    
+    private void alternarPiscar() {
+        if (contadorPiscar < 6) {
+            if (contadorPiscar % 2 == 0) {
+                lblNotificacao.setBackground(COR_PISCAR);
             } else {
-                timerPiscar.stop();
-                lblNotificacao.setBackground(new Color(255, 200, 200));
+                lblNotificacao.setBackground(COR_FUNDO_CRITICO);
             }
-        });
-        
-        timerPiscar.start();
+            contadorPiscar++;
+        } else {
+            tarefaPiscar.cancelar();
+            lblNotificacao.setBackground(COR_FUNDO_CRITICO);
+        }
     }
     
     private void configurarLayout() {
@@ -205,8 +303,8 @@ public class Painel extends JFrame {
         painelInfo.setLayout(new GridLayout(2, 4, 10, 10));
         painelInfo.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Informações do Veículo", 
-            0, 0, new Font("Arial", Font.BOLD, 16)));
-        painelInfo.setBackground(new Color(240, 248, 255));
+            0, 0, FONTE_TITULO));
+        painelInfo.setBackground(COR_FUNDO_INFORMACOES);
         
         painelInfo.add(lblEstadoMotor);
         painelInfo.add(lblVelocidade);
@@ -216,6 +314,7 @@ public class Painel extends JFrame {
         
         // NOVO: Painel superior completo (info + notificações)
         JPanel painelSuperior = new JPanel(new BorderLayout(5, 5));
+        painelSuperior.add(criarPainelMostradores(), BorderLayout.NORTH);
         painelSuperior.add(painelInfo, BorderLayout.CENTER);
         painelSuperior.add(painelNotificacoes, BorderLayout.SOUTH);
         
@@ -224,8 +323,8 @@ public class Painel extends JFrame {
         painelMotor.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 10));
         painelMotor.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Controle do Motor", 
-            0, 0, new Font("Arial", Font.BOLD, 14)));
-        painelMotor.setBackground(new Color(245, 245, 245));
+            0, 0, FONTE_INFO));
+        painelMotor.setBackground(COR_FUNDO_CONTROLES);
         painelMotor.add(btnLigarMotor);
         painelMotor.add(btnDesligarMotor);
         painelMotor.add(btnAcelerar);
@@ -236,8 +335,8 @@ public class Painel extends JFrame {
         painelTransmissao.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 10));
         painelTransmissao.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Controle de Transmissão", 
-            0, 0, new Font("Arial", Font.BOLD, 14)));
-        painelTransmissao.setBackground(new Color(245, 245, 245));
+            0, 0, FONTE_INFO));
+        painelTransmissao.setBackground(COR_FUNDO_CONTROLES);
         painelTransmissao.add(btnDescerMarcha);
         painelTransmissao.add(btnSubirMarcha);
         painelTransmissao.add(btnNeutro);
@@ -248,8 +347,8 @@ public class Painel extends JFrame {
         painelCombustivel.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 10));
         painelCombustivel.setBorder(BorderFactory.createTitledBorder(
             BorderFactory.createEtchedBorder(), "Combustível", 
-            0, 0, new Font("Arial", Font.BOLD, 14)));
-        painelCombustivel.setBackground(new Color(245, 245, 245));
+            0, 0, FONTE_INFO));
+        painelCombustivel.setBackground(COR_FUNDO_CONTROLES);
         painelCombustivel.add(btnAbastecer);
         
         // Painel de controles
@@ -266,37 +365,37 @@ public class Painel extends JFrame {
         // Painel de status na parte inferior
         JPanel painelStatus = new JPanel();
         painelStatus.setBorder(BorderFactory.createTitledBorder("Status do Sistema"));
-        painelStatus.setBackground(new Color(248, 248, 255));
+        painelStatus.setBackground(COR_FUNDO_STATUS);
         JLabel lblStatus = new JLabel("Simulador de Carro - Sistema Ativo | Use os controles acima para operar o veículo");
-        lblStatus.setFont(new Font("Arial", Font.ITALIC, 12));
-        lblStatus.setForeground(new Color(70, 70, 70));
+        lblStatus.setFont(FONTE_STATUS);
+        lblStatus.setForeground(COR_TEXTO_STATUS);
         painelStatus.add(lblStatus);
         add(painelStatus, BorderLayout.SOUTH);
         
         ((JComponent) getContentPane()).setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
     }
     
+    private JPanel criarPainelMostradores() {
+        JPanel painelMostradores = new JPanel(new GridLayout(1, 3, 10, 0));
+        painelMostradores.add(mostradorVelocidade);
+        painelMostradores.add(mostradorRpm);
+        painelMostradores.add(mostradorCombustivel);
+        return painelMostradores;
+    }
+    
     private void adicionarListeners() {
         // Listener para acelerar
         btnAcelerar.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                if (timerAceleracao == null) {
-                    timerAceleracao = new Timer(120, event -> {
-                        carro.acelerar();
-                        atualizarPainel();
-                    });
-                }
-                timerAceleracao.start();
-                btnAcelerar.setBackground(new Color(100, 149, 237));
+                tarefaAceleracao.reagendar(tarefaAceleracao.getPeriodoMs());
+                btnAcelerar.setBackground(COR_ACELERAR_PRESSIONADO);
             }
             
             @Override
             public void mouseReleased(MouseEvent e) {
-                if (timerAceleracao != null) {
-                    timerAceleracao.stop();
-                }
-                btnAcelerar.setBackground(new Color(173, 216, 230));
+                tarefaAceleracao.cancelar();
+                btnAcelerar.setBackground(COR_ACELERAR);
             }
         });
         
@@ -304,22 +403,14 @@ public class Painel extends JFrame {
         btnFrear.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                if (timerFrenagem == null) {
-                    timerFrenagem = new Timer(100, event -> {
-                        carro.frear();
-                        atualizarPainel();
-                    });
-                }
-                timerFrenagem.start();
-                btnFrear.setBackground(new Color(255, 140, 0));
+                tarefaFrenagem.reagendar(tarefaFrenagem.getPeriodoMs());
+                btnFrear.setBackground(COR_LARANJA);
             }
             
             @Override
             public void mouseReleased(MouseEvent e) {
-                if (timerFrenagem != null) {
-                    timerFrenagem.stop();
-                }
-                btnFrear.setBackground(new Color(255, 218, 185));
+                tarefaFrenagem.cancelar();
+                btnFrear.setBackground(COR_FREAR);
             }
         });
         
@@ -346,7 +437,7 @@ public class Painel extends JFrame {
         });
         
         btnDesligarMotor.addActionListener(e -> {
-            carro.getMotor().desligarComNotificacao();
+            carro.desligar(); // Pelo Carro: entra no diário de entradas e publica o estado
             atualizarPainel();
         });
         
@@ -395,73 +486,235 @@ public class Painel extends JFrame {
         });
     }
     
+    // NOVO: Chamado pelo carro na thread da simulação; agenda uma única atualização no EDT
+    private void receberTelemetria(Carro origem, EstadoCarro estado, int mudancas) {
+        if ((mudancas & MUDANCAS_INTERPOLADAS) != 0 && !pausado && !tarefaQuadro.estaAgendada()) {
+            tarefaQuadro.reagendar(INTERVALO_QUADRO);
+        }
+        
+        int anteriores = mudancasPendentes.getAndUpdate(m -> m | mudancas);
+        if (anteriores != 0) {
+            return; // Já existe uma atualização agendada
+        }
+        
+        if (intervaloAtualizacao > 0) {
+            tarefaCoalescencia.reagendar(intervaloAtualizacao);
+        } else {
+            SwingUtilities.invokeLater(this::processarMudancas);
+        }
+    }
+    
+    private void processarMudancas() {
+        if (pausado) {
+            return; // Mantém as mudanças pendentes até retomar
+        }
+        int mudancas = mudancasPendentes.getAndSet(0);
+        if (mudancas != 0) {
+            aplicarMudancas(carro.getEstado(), mudancas);
+        }
+    }
+    
     // CORRIGIDO: Método atualizarPainel() com cores dinâmicas
     public void atualizarPainel() {
-        // Atualiza informações do combustível
-        double combustivel = carro.getTanque().getNivelAtual();
-        double capacidade = carro.getTanque().getCapacidadeMaxima();
-        double percentual = carro.getTanque().getPercentualCombustivel();
-        
-        // NOVO: Cor do combustível baseada no nível
-        lblCombustivel.setText(String.format("Combustível: %.1f / %.1f L (%.1f%%)", combustivel, capacidade, percentual));
-        if (percentual <= 5.0) {
-            lblCombustivel.setForeground(Color.RED);
-        } else if (percentual <= 15.0) {
-            lblCombustivel.setForeground(new Color(255, 140, 0)); // Laranja
-        } else {
-            lblCombustivel.setForeground(Color.BLACK);
+        aplicarMudancas(carro.getEstado(), OuvinteTelemetria.TODAS);
+        desenharQuadro();
+    }
+    
+    // NOVO: Um quadro do laço de renderização: valores interpolados, com atraso constante de um tick
+    private void desenharQuadro() {
+        if (pausado) {
+            tarefaQuadro.cancelar();
+            return;
+        }
+        interpolador.amostrar(System.nanoTime());
+        atualizarVelocidade(interpolador.getVelocidade());
+        atualizarRpm(interpolador.getRpm());
+        atualizarCombustivel(interpolador.getNivelCombustivel(), interpolador.getPercentualCombustivel(),
+                             interpolador.getAtual().getCapacidadeTanque());
+        mostradorVelocidade.setValor(interpolador.getVelocidade());
+        mostradorRpm.setValor(interpolador.getRpm());
+        mostradorCombustivel.setValor(interpolador.getNivelCombustivel());
+        
+        if (!interpolador.emTransicao()) {
+            tarefaQuadro.cancelar(); // Volta a ser ligado pelo próximo evento de telemetria
+        } else if (!tarefaQuadro.estaAgendada()) {
+            tarefaQuadro.reagendar(INTERVALO_QUADRO);
+        }
+    }
+    
+    // MODIFICADO: Atualiza apenas as partes do painel afetadas pelas mudanças
+    private void aplicarMudancas(EstadoCarro estado, int mudancas) {
+        // MODIFICADO: Os valores de velocidade, RPM e combustível vêm do laço de quadros;
+        // aqui ficam só as faixas (cores), que mudam em degraus
+        if ((mudancas & OuvinteTelemetria.FAIXA_COMBUSTIVEL) != 0) {
+            atualizarFaixaCombustivel(estado);
         }
-        
-        // Atualiza velocidade
-        double velocidade = carro.getVelocidadeAtual();
-        lblVelocidade.setText(String.format("Velocidade: %.1f km/h", velocidade));
         
         // Atualiza estado do motor
-        boolean motorLigado = carro.estaLigado();
-        lblEstadoMotor.setText("Motor: " + (motorLigado ? "LIGADO" : "DESLIGADO"));
-        lblEstadoMotor.setForeground(motorLigado ? Color.GREEN : Color.RED);
-        
-        // Atualiza RPM com cor baseada na zona
-        double rpm = carro.getMotor().getRPM();
-        lblRPM.setText(String.format("RPM: %.0f", rpm));
-        if (carro.getMotor().estaEmZonaVermelha()) {
-            lblRPM.setForeground(Color.RED);
-        } else if (rpm > carro.getMotor().getRpmMaximo() * 0.7) {
-            lblRPM.setForeground(new Color(255, 140, 0)); // Laranja
-        } else {
-            lblRPM.setForeground(Color.BLACK);
+        if ((mudancas & OuvinteTelemetria.MOTOR) != 0) {
+            atualizarMotor(estado);
+        }
+        
+        if ((mudancas & OuvinteTelemetria.FAIXA_RPM) != 0) {
+            atualizarFaixaRpm(estado);
         }
         
         // Atualiza marcha
-        String marcha = carro.getCaixaDeMarcha().getDescricaoMarchaAtual();
-        lblMarcha.setText("Marcha: " + marcha);
+        if ((mudancas & OuvinteTelemetria.MARCHA) != 0) {
+            atualizarMarcha(estado);
+        }
+        
+        if ((mudancas & (OuvinteTelemetria.MOTOR | OuvinteTelemetria.VELOCIDADE
+                | OuvinteTelemetria.FAIXA_COMBUSTIVEL)) != 0) {
+            atualizarBotoes(estado);
+        }
+        
+        if ((mudancas & OuvinteTelemetria.NOTIFICACAO) != 0) {
+            verificarNotificacoes();
+        }
+    }
+    
+    // MODIFICADO: Os textos só são montados (sem String.format) quando o valor exibido muda
+    private void atualizarCombustivel(double nivel, double percentualTanque, double capacidade) {
+        long combustivel = Math.round(nivel * 10);
+        long percentual = Math.round(percentualTanque * 10);
+        if (combustivel != combustivelExibido || percentual != percentualExibido) {
+            combustivelExibido = combustivel;
+            percentualExibido = percentual;
+            texto.setLength(0);
+            texto.append("Combustível: ");
+            acrescentarDecimos(combustivel);
+            texto.append(" / ");
+            acrescentarDecimos(Math.round(capacidade * 10));
+            texto.append(" L (");
+            acrescentarDecimos(percentual);
+            texto.append("%)");
+            lblCombustivel.setText(texto.toString());
+        }
+    }
+    
+    // NOVO: Cor do combustível baseada no nível
+    private void atualizarFaixaCombustivel(EstadoCarro estado) {
+        int faixa = estado.getFaixaCombustivel();
+        if (faixa != faixaCombustivelExibida) {
+            faixaCombustivelExibida = faixa;
+            if (faixa >= 2) {
+                lblCombustivel.setForeground(Color.RED);
+            } else if (faixa == 1) {
+                lblCombustivel.setForeground(COR_LARANJA);
+            } else {
+                lblCombustivel.setForeground(Color.BLACK);
+            }
+        }
+    }
+    
+    private void atualizarVelocidade(double valor) {
+        long velocidade = Math.round(valor * 10);
+        if (velocidade != velocidadeExibida) {
+            velocidadeExibida = velocidade;
+            texto.setLength(0);
+            texto.append("Velocidade: ");
+            acrescentarDecimos(velocidade);
+            texto.append(" km/h");
+            lblVelocidade.setText(texto.toString());
+        }
+    }
+    
+    private void atualizarMotor(EstadoCarro estado) {
+        int motor = estado.isMotorLigado() ? 1 : 0;
+        if (motor != motorExibido) {
+            motorExibido = motor;
+            lblEstadoMotor.setText(motor == 1 ? "Motor: LIGADO" : "Motor: DESLIGADO");
+            lblEstadoMotor.setForeground(motor == 1 ? Color.GREEN : Color.RED);
+        }
+    }
+    
+    private void atualizarMarcha(EstadoCarro estado) {
+        int marcha = estado.isEmMarchaRe() ? Integer.MIN_VALUE + 1 : estado.getMarchaAtual();
+        if (marcha != marchaExibida) {
+            marchaExibida = marcha;
+            lblMarcha.setText("Marcha: " + estado.getDescricaoMarcha());
+        }
+    }
+    
+    // Atualiza RPM com cor baseada na zona
+    private void atualizarRpm(double valor) {
+        long rpm = Math.round(valor);
+        if (rpm != rpmExibido) {
+            rpmExibido = rpm;
+            texto.setLength(0);
+            texto.append("RPM: ").append(rpm);
+            lblRPM.setText(texto.toString());
+        }
+    }
+    
+    private void atualizarFaixaRpm(EstadoCarro estado) {
+        // Faixas de EstadoCarro: 3 = zona vermelha, 2 = acima de 70%
+        int faixa = estado.getFaixaRpm();
+        if (faixa != faixaRpmExibida) {
+            faixaRpmExibida = faixa;
+            if (faixa == 3) {
+                lblRPM.setForeground(Color.RED);
+            } else if (faixa == 2) {
+                lblRPM.setForeground(COR_LARANJA);
+            } else {
+                lblRPM.setForeground(Color.BLACK);
+            }
+        }
+    }
+    
+    // Acrescenta ao texto um valor em décimos com uma casa decimal, no separador do sistema
+    private void acrescentarDecimos(long decimos) {
+        if (decimos < 0) {
+            texto.append('-');
+            decimos = -decimos;
+        }
+        texto.append(decimos / 10).append(SEPARADOR_DECIMAL).append(decimos % 10);
+    }
+    
+    // Habilita/desabilita botões baseado no estado
+    private void atualizarBotoes(EstadoCarro estado) {
+        boolean motorLigado = estado.isMotorLigado();
+        boolean temCombustivel = estado.getNivelCombustivel() != 0;
         
-        // Habilita/desabilita botões baseado no estado
         boolean podeOperar = motorLigado;
-        btnAcelerar.setEnabled(podeOperar && carro.temCombustivel());
-        btnFrear.setEnabled(podeOperar || velocidade > 0); // Pode frear mesmo com motor desligado se houver velocidade
-        btnSubirMarcha.setEnabled(podeOperar);
-        btnDescerMarcha.setEnabled(podeOperar);
-        btnMarchaRe.setEnabled(podeOperar);
-        btnNeutro.setEnabled(podeOperar);
+        definirHabilitado(btnAcelerar, podeOperar && temCombustivel);
+        definirHabilitado(btnFrear, podeOperar || estado.getVelocidade() > 0); // Pode frear mesmo com motor desligado se houver velocidade
+        definirHabilitado(btnSubirMarcha, podeOperar);
+        definirHabilitado(btnDescerMarcha, podeOperar);
+        definirHabilitado(btnMarchaRe, podeOperar);
+        definirHabilitado(btnNeutro, podeOperar);
         
-        btnLigarMotor.setEnabled(!motorLigado && carro.temCombustivel());
-        btnDesligarMotor.setEnabled(motorLigado);
+        definirHabilitado(btnLigarMotor, !motorLigado && temCombustivel);
+        definirHabilitado(btnDesligarMotor, motorLigado);
         
         // NOVO: Muda cor dos botões baseado no estado do combustível
-        if (!carro.temCombustivel()) {
-            btnAcelerar.setBackground(Color.LIGHT_GRAY);
-            btnLigarMotor.setBackground(Color.LIGHT_GRAY);
+        if (!temCombustivel) {
+            definirFundo(btnAcelerar, Color.LIGHT_GRAY);
+            definirFundo(btnLigarMotor, Color.LIGHT_GRAY);
         } else {
             if (btnAcelerar.isEnabled()) {
-                btnAcelerar.setBackground(new Color(173, 216, 230));
+                definirFundo(btnAcelerar, COR_ACELERAR);
             }
             if (btnLigarMotor.isEnabled()) {
-                btnLigarMotor.setBackground(new Color(144, 238, 144));
+                definirFundo(btnLigarMotor, COR_LIGAR);
             }
         }
     }
     
+    // NOVO: Só mexem no componente se o valor for diferente, evitando revalidação e repintura
+    private static void definirHabilitado(JComponent componente, boolean habilitado) {
+        if (componente.isEnabled() != habilitado) {
+            componente.setEnabled(habilitado);
+        }
+    }
+    
+    private static void definirFundo(JComponent componente, Color cor) {
+        if (componente.getBackground() != cor) {
+            componente.setBackground(cor);
+        }
+    }
+    
     // NOVO: Método para exibir notificação manual (para uso interno do painel)
     public void exibirNotificacaoManual(String mensagem, String tipo) {
         exibirNotificacao(mensagem, tipo);
@@ -501,27 +754,22 @@ public class Painel extends JFrame {
     
     // Método para pausar/retomar atualizações automáticas
     public void pausarAtualizacoes() {
-        if (timerAtualizacao != null && timerAtualizacao.isRunning()) {
-            timerAtualizacao.stop();
-        }
-        if (timerNotificacao != null && timerNotificacao.isRunning()) {
-            timerNotificacao.stop();
-        }
+        pausado = true;
     }
     
     public void retomarAtualizacoes() {
-        if (timerAtualizacao != null && !timerAtualizacao.isRunning()) {
-            timerAtualizacao.start();
-        }
-        if (timerNotificacao != null && !timerNotificacao.isRunning()) {
-            timerNotificacao.start();
+        if (pausado) {
+            pausado = false;
+            mudancasPendentes.set(0);
+            atualizarPainel();
         }
     }
     
-    // Método para definir intervalo de atualização
+    // MODIFICADO: Janela em que as mudanças recebidas são agrupadas numa única atualização
+    // (0 = atualiza assim que o EDT estiver livre)
     public void setIntervaloAtualizacao(int milissegundos) {
-        if (timerAtualizacao != null) {
-            timerAtualizacao.setDelay(milissegundos);
+        if (milissegundos >= 0) {
+            intervaloAtualizacao = milissegundos;
         }
     }
     
@@ -532,18 +780,13 @@ public class Painel extends JFrame {
     
     // MODIFICADO: Método para fechar o painel e parar todos os timers
     public void fechar() {
-        if (timerAtualizacao != null) {
-            timerAtualizacao.stop();
-        }
-        if (timerAceleracao != null) {
-            timerAceleracao.stop();
-        }
-        if (timerFrenagem != null) {
-            timerFrenagem.stop();
-        }
-        if (timerNotificacao != null) {
-            timerNotificacao.stop();
-        }
+        carro.removerOuvinte(ouvinteTelemetria);
+        tarefaCoalescencia.cancelar();
+        tarefaAceleracao.cancelar();
+        tarefaFrenagem.cancelar();
+        tarefaLimpeza.cancelar();
+        tarefaPiscar.cancelar();
+        tarefaQuadro.cancelar();
         dispose();
     }
     
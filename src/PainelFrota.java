@@ -0,0 +1,262 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Visão geral de uma frota inteira num único componente: uma grade com uma célula por carro,
+// mostrando velocidade, marcha, faixa de RPM (cor de fundo) e combustível (barra inferior).
+// Uma única tarefa do AgendadorCentral lê as fotografias (EstadoCarro) de todos os carros;
+// cada célula guarda a chave do último valor desenhado e só é redesenhada quando o valor
+// exibido muda. As células são desenhadas numa imagem guardada, e paintComponent só copia
+// a região alterada para a tela.
+//
+// A lista de carros é lida no EDT. Para uma frota que muda em outra thread, use o construtor
+// com EscalonadorFrota, que lê a lista imutável publicada pelo escalonador a cada passo.
+public class PainelFrota extends JPanel {
+    private static final int LARGURA_CELULA = 46;
+    private static final int ALTURA_CELULA = 30;
+    private static final int ESPACO = 2;
+    private static final int ALTURA_BARRA = 4;
+    private static final int COLUNAS_PADRAO = 40;
+    private static final int INTERVALO_PADRAO = 200; // ms
+    private static final long NUNCA_DESENHADA = Long.MIN_VALUE;
+    
+    // Cores e fontes criadas uma única vez
+    private static final Color COR_FUNDO = new Color(40, 44, 52);
+    private static final Color COR_TEXTO = Color.BLACK;
+    private static final Color COR_DESLIGADO = new Color(120, 120, 120);
+    private static final Color COR_BARRA_VAZIA = new Color(90, 90, 90);
+    private static final Color[] CORES_FAIXA_RPM = {
+        new Color(190, 190, 190),   // Parado
+        new Color(200, 235, 200),   // Normal
+        new Color(255, 220, 150),   // Alto
+        new Color(255, 140, 140)    // Zona vermelha
+    };
+    private static final Color[] CORES_FAIXA_COMBUSTIVEL = {
+        new Color(60, 160, 60),     // Normal
+        new Color(255, 140, 0),     // Reserva
+        Color.RED,                  // Crítico
+        COR_BARRA_VAZIA             // Vazio
+    };
+    private static final Font FONTE_VELOCIDADE = new Font("Arial", Font.BOLD, 12);
+    private static final Font FONTE_MARCHA = new Font("Arial", Font.PLAIN, 10);
+    private static final char[] MARCHAS = {'R', 'N', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+    
+    private final Supplier<List<Carro>> fonteCarros;
+    private List<Carro> carros; // Lista usada na última atualização (só no EDT)
+    private final int colunas;
+    private final AgendadorCentral.Tarefa tarefaRepintura;
+    private final int intervaloMs;
+    private final char[] digitos = new char[4];
+    private long[] chaves;       // Chave do valor desenhado em cada célula
+    private BufferedImage imagem;
+    private long celulasRedesenhadas;
+    
+    // Construtor com 40 colunas, atualizando a cada 200 ms
+    public PainelFrota(List<Carro> carros) {
+        this(carros, COLUNAS_PADRAO, INTERVALO_PADRAO);
+    }
+    
+    // A lista não pode mudar fora do EDT enquanto o painel estiver aberto
+    public PainelFrota(List<Carro> carros, int colunas, int intervaloMs) {
+        this(() -> carros, colunas, intervaloMs);
+    }
+    
+    // Frota de um escalonador, que pode ganhar e perder carros na thread da simulação
+    public PainelFrota(EscalonadorFrota escalonador) {
+        this(escalonador::getCarrosPublicados, COLUNAS_PADRAO, INTERVALO_PADRAO);
+    }
+    
+    private PainelFrota(Supplier<List<Carro>> fonteCarros, int colunas, int intervaloMs) {
+        this.fonteCarros = fonteCarros;
+        this.carros = fonteCarros.get();
+        this.colunas = Math.max(1, colunas);
+        this.chaves = new long[0];
+        
+        setOpaque(true);
+        setBackground(COR_FUNDO);
+        setToolTipText(""); // Habilita getToolTipText(MouseEvent)
+        
+        this.intervaloMs = intervaloMs;
+        this.tarefaRepintura = AgendadorCentral.getInstancia().criarPeriodica(intervaloMs, this::atualizarCelulas);
+    }
+    
+    // Abre uma janela com a grade e inicia as atualizações
+    public static PainelFrota abrirJanela(String titulo, List<Carro> carros) {
+        return abrirJanela(titulo, new PainelFrota(carros));
+    }
+    
+    public static PainelFrota abrirJanela(String titulo, EscalonadorFrota escalonador) {
+        return abrirJanela(titulo, new PainelFrota(escalonador));
+    }
+    
+    private static PainelFrota abrirJanela(String titulo, PainelFrota painel) {
+        JFrame janela = new JFrame(titulo);
+        janela.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        janela.add(new JScrollPane(painel));
+        janela.setSize(Math.min(1400, painel.getPreferredSize().width + 40), 800);
+        janela.setLocationRelativeTo(null);
+        janela.setVisible(true);
+        painel.iniciar();
+        return painel;
+    }
+    
+    public void iniciar() {
+        tarefaRepintura.reagendar(intervaloMs);
+    }
+    
+    public void parar() {
+        tarefaRepintura.cancelar();
+    }
+    
+    // Chamado pelo agendador no EDT: redesenha na imagem só as células cujo valor exibido mudou
+    // e pede a repintura do retângulo que as contém
+    void atualizarCelulas() {
+        carros = fonteCarros.get();
+        int quantidade = carros.size();
+        if (quantidade != chaves.length) {
+            redimensionar(quantidade);
+        }
+        
+        int minimoX = Integer.MAX_VALUE, minimoY = Integer.MAX_VALUE, maximoX = -1, maximoY = -1;
+        Graphics2D g = null;
+        
+        for (int i = 0; i < quantidade; i++) {
+            EstadoCarro estado = carros.get(i).getEstado();
+            long chave = calcularChave(estado);
+            if (chave == chaves[i]) {
+                continue;
+            }
+            if (g == null) {
+                g = imagem.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            }
+            int x = (i % colunas) * (LARGURA_CELULA + ESPACO) + ESPACO;
+            int y = (i / colunas) * (ALTURA_CELULA + ESPACO) + ESPACO;
+            desenharCelula(g, x, y, estado);
+            chaves[i] = chave;
+            celulasRedesenhadas++;
+            
+            minimoX = Math.min(minimoX, x);
+            minimoY = Math.min(minimoY, y);
+            maximoX = Math.max(maximoX, x + LARGURA_CELULA);
+            maximoY = Math.max(maximoY, y + ALTURA_CELULA);
+        }
+        
+        if (g != null) {
+            g.dispose();
+            repaint(minimoX, minimoY, maximoX - minimoX, maximoY - minimoY);
+        }
+    }
+    
+    // Valores na precisão exibida: velocidade inteira, faixas, marcha, décimos do tanque e motor
+    private static long calcularChave(EstadoCarro estado) {
+        long velocidade = Math.round(estado.getVelocidade());
+        int decimoTanque = (int) (estado.getPercentualCombustivel() / 10.0);
+        return velocidade << 24
+             | (long) estado.getFaixaRpm() << 20
+             | (long) estado.getFaixaCombustivel() << 16
+             | (long) decimoTanque << 8
+             | (long) indiceMarcha(estado) << 1
+             | (estado.isMotorLigado() ? 1 : 0);
+    }
+    
+    private static int indiceMarcha(EstadoCarro estado) {
+        if (estado.isEmMarchaRe()) return 0;
+        if (estado.estaEmNeutro()) return 1;
+        return Math.min(estado.getMarchaAtual() + 2, MARCHAS.length - 1);
+    }
+    
+    private void desenharCelula(Graphics2D g, int x, int y, EstadoCarro estado) {
+        g.setColor(estado.isMotorLigado() ? CORES_FAIXA_RPM[estado.getFaixaRpm()] : COR_DESLIGADO);
+        g.fillRect(x, y, LARGURA_CELULA, ALTURA_CELULA);
+        
+        // Velocidade sem String.format: dígitos escritos num char[] reaproveitado
+        int tamanho = escreverInteiro((int) Math.min(999, Math.round(estado.getVelocidade())));
+        g.setColor(COR_TEXTO);
+        g.setFont(FONTE_VELOCIDADE);
+        g.drawChars(digitos, 0, tamanho, x + 3, y + 14);
+        
+        g.setFont(FONTE_MARCHA);
+        g.drawChars(MARCHAS, indiceMarcha(estado), 1, x + LARGURA_CELULA - 10, y + 12);
+        
+        // Barra de combustível em décimos do tanque
+        int yBarra = y + ALTURA_CELULA - ALTURA_BARRA - 2;
+        g.setColor(COR_BARRA_VAZIA);
+        g.fillRect(x + 2, yBarra, LARGURA_CELULA - 4, ALTURA_BARRA);
+        int decimos = (int) Math.min(10, estado.getPercentualCombustivel() / 10.0);
+        g.setColor(CORES_FAIXA_COMBUSTIVEL[estado.getFaixaCombustivel()]);
+        g.fillRect(x + 2, yBarra, (LARGURA_CELULA - 4) * decimos / 10, ALTURA_BARRA);
+    }
+    
+    private int escreverInteiro(int valor) {
+        int tamanho = valor >= 100 ? 3 : valor >= 10 ? 2 : 1;
+        for (int p = tamanho - 1; p >= 0; p--) {
+            digitos[p] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return tamanho;
+    }
+    
+    // A frota mudou de tamanho: nova imagem e todas as células marcadas para redesenho
+    private void redimensionar(int quantidade) {
+        chaves = new long[quantidade];
+        Arrays.fill(chaves, NUNCA_DESENHADA);
+        
+        Dimension tamanho = calcularTamanho(quantidade);
+        imagem = new BufferedImage(tamanho.width, tamanho.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        g.setColor(COR_FUNDO);
+        g.fillRect(0, 0, tamanho.width, tamanho.height);
+        g.dispose();
+        
+        revalidate();
+        repaint();
+    }
+    
+    private Dimension calcularTamanho(int quantidade) {
+        int linhas = Math.max(1, (quantidade + colunas - 1) / colunas);
+        return new Dimension(colunas * (LARGURA_CELULA + ESPACO) + ESPACO,
+                             linhas * (ALTURA_CELULA + ESPACO) + ESPACO);
+    }
+    
+    @Override
+    public Dimension getPreferredSize() {
+        return calcularTamanho(carros.size());
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (imagem == null) {
+            super.paintComponent(g);
+            return;
+        }
+        // Só a região de recorte é copiada; fora da imagem fica o fundo
+        g.drawImage(imagem, 0, 0, null);
+        if (getWidth() > imagem.getWidth() || getHeight() > imagem.getHeight()) {
+            g.setColor(COR_FUNDO);
+            g.fillRect(imagem.getWidth(), 0, getWidth() - imagem.getWidth(), getHeight());
+            g.fillRect(0, imagem.getHeight(), imagem.getWidth(), getHeight() - imagem.getHeight());
+        }
+    }
+    
+    // Detalhes do carro sob o mouse
+    @Override
+    public String getToolTipText(MouseEvent evento) {
+        int coluna = (evento.getX() - ESPACO) / (LARGURA_CELULA + ESPACO);
+        int linha = (evento.getY() - ESPACO) / (ALTURA_CELULA + ESPACO);
+        int i = linha * colunas + coluna;
+        if (coluna < 0 || coluna >= colunas || i < 0 || i >= carros.size()) {
+            return null;
+        }
+        Carro carro = carros.get(i);
+        return "#" + i + " " + carro.getMarca() + " " + carro.getModelo() + " - " + carro.getEstado();
+    }
+    
+    // Getters
+    public int getColunas() { return colunas; }
+    public long getCelulasRedesenhadas() { return celulasRedesenhadas; }
+}
@@ -0,0 +1,138 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Acumuladores de uma viagem de um carro: combustível, distância e tempos.
+// São só campos primitivos somados a cada tick, então qualquer consulta é O(1)
+// e nada é alocado durante a simulação.
+public class RegistroViagem {
+    // Posições em tempoPorMarcha; as marchas à frente começam depois destas
+    static final int POSICAO_MARCHA_RE = 0;
+    static final int POSICAO_NEUTRO = 1;
+    static final int POSICOES_ESPECIAIS = 2;
+    
+    private double combustivelConsumido; // Litros
+    private double distanciaPercorrida;  // km
+    private double tempoTotal;           // Segundos
+    private double tempoMotorLigado;
+    private double tempoZonaVermelha;
+    private final double[] tempoPorMarcha;
+    
+    // Construtor
+    public RegistroViagem(int quantidadeMarchas) {
+        this.tempoPorMarcha = new double[quantidadeMarchas + POSICOES_ESPECIAIS];
+        reiniciar();
+    }
+    
+    // Soma um tick de deltaTempo segundos
+    void registrar(double deltaTempo, double velocidade, double litros, int marcha, boolean emMarchaRe,
+                   boolean motorLigado, boolean zonaVermelha) {
+        combustivelConsumido += litros;
+        distanciaPercorrida += velocidade * deltaTempo / 3600.0;
+        tempoTotal += deltaTempo;
+        tempoPorMarcha[posicaoMarcha(marcha, emMarchaRe)] += deltaTempo;
+        if (motorLigado) {
+            tempoMotorLigado += deltaTempo;
+        }
+        if (zonaVermelha) {
+            tempoZonaVermelha += deltaTempo;
+        }
+    }
+    
+    // Zera os acumuladores para começar uma nova viagem
+    public void reiniciar() {
+        combustivelConsumido = 0.0;
+        distanciaPercorrida = 0.0;
+        tempoTotal = 0.0;
+        tempoMotorLigado = 0.0;
+        tempoZonaVermelha = 0.0;
+        Arrays.fill(tempoPorMarcha, 0.0);
+    }
+    
+    static int posicaoMarcha(int marcha, boolean emMarchaRe) {
+        if (emMarchaRe) {
+            return POSICAO_MARCHA_RE;
+        }
+        if (marcha == CaixaDeMarcha.MARCHA_NEUTRA) {
+            return POSICAO_NEUTRO;
+        }
+        return marcha + POSICOES_ESPECIAIS;
+    }
+    
+    // Estado para o CheckpointFrota. Sempre grava posicoes tempos por marcha
+    // (completando com zeros), para que todos os carros de um checkpoint tenham o mesmo tamanho.
+    void salvarEstado(ByteBuffer buffer, int posicoes) {
+        buffer.putDouble(combustivelConsumido).putDouble(distanciaPercorrida).putDouble(tempoTotal)
+              .putDouble(tempoMotorLigado).putDouble(tempoZonaVermelha);
+        for (int p = 0; p < posicoes; p++) {
+            buffer.putDouble(p < tempoPorMarcha.length ? tempoPorMarcha[p] : 0.0);
+        }
+    }
+    
+    void restaurarEstado(ByteBuffer buffer, int posicoes) {
+        combustivelConsumido = buffer.getDouble();
+        distanciaPercorrida = buffer.getDouble();
+        tempoTotal = buffer.getDouble();
+        tempoMotorLigado = buffer.getDouble();
+        tempoZonaVermelha = buffer.getDouble();
+        for (int p = 0; p < posicoes; p++) {
+            double tempo = buffer.getDouble();
+            if (p < tempoPorMarcha.length) {
+                tempoPorMarcha[p] = tempo;
+            }
+        }
+    }
+    
+    static int tamanhoEstado(int posicoes) {
+        return 40 + 8 * posicoes;
+    }
+    
+    // Getters
+    public double getCombustivelConsumido() { return combustivelConsumido; }
+    public double getDistanciaPercorrida() { return distanciaPercorrida; }
+    public double getTempoTotal() { return tempoTotal; }
+    public double getTempoMotorLigado() { return tempoMotorLigado; }
+    public double getTempoZonaVermelha() { return tempoZonaVermelha; }
+    public double getTempoEmMarchaRe() { return tempoPorMarcha[POSICAO_MARCHA_RE]; }
+    public double getTempoEmNeutro() { return tempoPorMarcha[POSICAO_NEUTRO]; }
+    public int getQuantidadeMarchas() { return tempoPorMarcha.length - POSICOES_ESPECIAIS; }
+    
+    // Tempo na marcha à frente informada (0 = primeira)
+    public double getTempoNaMarcha(int marcha) {
+        if (marcha < 0 || marcha >= getQuantidadeMarchas()) {
+            return 0.0;
+        }
+        return tempoPorMarcha[marcha + POSICOES_ESPECIAIS];
+    }
+    
+    double getTempoNaPosicao(int posicao) {
+        return tempoPorMarcha[posicao];
+    }
+    
+    // Consumo médio em litros por 100 km; 0 se o carro não saiu do lugar
+    public double getConsumoMedio() {
+        if (distanciaPercorrida <= 0) return 0.0;
+        return combustivelConsumido / distanciaPercorrida * 100.0;
+    }
+    
+    public double getKmPorLitro() {
+        if (combustivelConsumido <= 0) return 0.0;
+        return distanciaPercorrida / combustivelConsumido;
+    }
+    
+    public double getVelocidadeMedia() {
+        if (tempoTotal <= 0) return 0.0;
+        return distanciaPercorrida / (tempoTotal / 3600.0); // km/h
+    }
+    
+    public double getPercentualZonaVermelha() {
+        if (tempoMotorLigado <= 0) return 0.0;
+        return tempoZonaVermelha / tempoMotorLigado * 100.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Viagem: %.3f km em %.1f s, %.3f L (%.2f L/100km), zona vermelha %.1f s",
+                           distanciaPercorrida, tempoTotal, combustivelConsumido, getConsumoMedio(),
+                           tempoZonaVermelha);
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+// Relatório de eficiência de combustível somando as viagens de muitos carros.
+// A soma é feita em paralelo: cada núcleo acumula uma parte da frota em campos primitivos
+// e as somas parciais são combinadas no final, sem objetos por carro.
+public final class RelatorioConsumo {
+    private static final int CARROS_POR_BLOCO = 4096;
+    
+    private final int quantidadeCarros;
+    private final double combustivelConsumido;
+    private final double distanciaPercorrida;
+    private final double tempoTotal;
+    private final double tempoMotorLigado;
+    private final double tempoZonaVermelha;
+    private final double[] tempoPorMarcha; // Mesmas posições de RegistroViagem
+    
+    private RelatorioConsumo(Acumulador acumulador) {
+        this.quantidadeCarros = acumulador.quantidadeCarros;
+        this.combustivelConsumido = acumulador.combustivelConsumido;
+        this.distanciaPercorrida = acumulador.distanciaPercorrida;
+        this.tempoTotal = acumulador.tempoTotal;
+        this.tempoMotorLigado = acumulador.tempoMotorLigado;
+        this.tempoZonaVermelha = acumulador.tempoZonaVermelha;
+        this.tempoPorMarcha = acumulador.tempoPorMarcha;
+    }
+    
+    // Relatório das viagens atuais dos carros informados
+    public static RelatorioConsumo gerar(Collection<Carro> carros) {
+        Acumulador total = carros.parallelStream()
+            .collect(Acumulador::new, Acumulador::somar, Acumulador::combinar);
+        return new RelatorioConsumo(total);
+    }
+    
+    // Relatório da frota de um escalonador, com o tempo parado dos carros em repouso contabilizado
+    public static RelatorioConsumo gerar(EscalonadorFrota escalonador) {
+        escalonador.contabilizarRepouso();
+        return gerar(escalonador.getCarros());
+    }
+    
+    // Relatório de todos os carros de uma frota compacta, lendo as colunas em blocos
+    public static RelatorioConsumo gerar(FrotaCompacta frota) {
+        int tamanho = frota.getTamanho();
+        int blocos = (tamanho + CARROS_POR_BLOCO - 1) / CARROS_POR_BLOCO;
+        Acumulador total = IntStream.range(0, blocos).parallel()
+            .collect(Acumulador::new,
+                     (acumulador, bloco) -> acumulador.somar(frota, bloco * CARROS_POR_BLOCO,
+                                                             Math.min(tamanho, (bloco + 1) * CARROS_POR_BLOCO)),
+                     Acumulador::combinar);
+        return new RelatorioConsumo(total);
+    }
+    
+    // Getters
+    public int getQuantidadeCarros() { return quantidadeCarros; }
+    public double getCombustivelConsumido() { return combustivelConsumido; }
+    public double getDistanciaPercorrida() { return distanciaPercorrida; }
+    public double getTempoTotal() { return tempoTotal; }
+    public double getTempoMotorLigado() { return tempoMotorLigado; }
+    public double getTempoZonaVermelha() { return tempoZonaVermelha; }
+    public double getTempoEmMarchaRe() { return getTempoNaPosicao(RegistroViagem.POSICAO_MARCHA_RE); }
+    public double getTempoEmNeutro() { return getTempoNaPosicao(RegistroViagem.POSICAO_NEUTRO); }
+    
+    // Tempo somado na marcha à frente informada (0 = primeira)
+    public double getTempoNaMarcha(int marcha) {
+        return marcha < 0 ? 0.0 : getTempoNaPosicao(marcha + RegistroViagem.POSICOES_ESPECIAIS);
+    }
+    
+    private double getTempoNaPosicao(int posicao) {
+        return posicao < tempoPorMarcha.length ? tempoPorMarcha[posicao] : 0.0;
+    }
+    
+    // Consumo médio da frota em litros por 100 km
+    public double getConsumoMedio() {
+        if (distanciaPercorrida <= 0) return 0.0;
+        return combustivelConsumido / distanciaPercorrida * 100.0;
+    }
+    
+    public double getHorasCarro() {
+        return tempoTotal / 3600.0;
+    }
+    
+    public double getPercentualZonaVermelha() {
+        if (tempoMotorLigado <= 0) return 0.0;
+        return tempoZonaVermelha / tempoMotorLigado * 100.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Relatório de consumo: %d carros, %.1f horas-carro, %.1f km, %.2f L (%.2f L/100km), " +
+                           "zona vermelha %.1f%% do tempo ligado",
+                           quantidadeCarros, getHorasCarro(), distanciaPercorrida, combustivelConsumido,
+                           getConsumoMedio(), getPercentualZonaVermelha());
+    }
+    
+    // Soma parcial de uma thread
+    private static final class Acumulador {
+        private int quantidadeCarros;
+        private double combustivelConsumido;
+        private double distanciaPercorrida;
+        private double tempoTotal;
+        private double tempoMotorLigado;
+        private double tempoZonaVermelha;
+        private double[] tempoPorMarcha = new double[RegistroViagem.POSICOES_ESPECIAIS];
+        
+        void somar(Carro carro) {
+            RegistroViagem viagem = carro.getViagem();
+            quantidadeCarros++;
+            combustivelConsumido += viagem.getCombustivelConsumido();
+            distanciaPercorrida += viagem.getDistanciaPercorrida();
+            tempoTotal += viagem.getTempoTotal();
+            tempoMotorLigado += viagem.getTempoMotorLigado();
+            tempoZonaVermelha += viagem.getTempoZonaVermelha();
+            
+            int posicoes = viagem.getQuantidadeMarchas() + RegistroViagem.POSICOES_ESPECIAIS;
+            garantirPosicoes(posicoes);
+            for (int p = 0; p < posicoes; p++) {
+                tempoPorMarcha[p] += viagem.getTempoNaPosicao(p);
+            }
+        }
+        
+        void somar(FrotaCompacta frota, int inicio, int fim) {
+            int posicoes = frota.getPosicoesMarcha();
+            garantirPosicoes(posicoes);
+            for (int i = inicio; i < fim; i++) {
+                combustivelConsumido += frota.getCombustivelConsumido(i);
+                distanciaPercorrida += frota.getDistanciaPercorrida(i);
+                tempoMotorLigado += frota.getTempoMotorLigado(i);
+                tempoZonaVermelha += frota.getTempoZonaVermelha(i);
+                for (int p = 0; p < posicoes; p++) {
+                    double tempo = frota.getTempoNaPosicao(i, p);
+                    tempoPorMarcha[p] += tempo;
+                    tempoTotal += tempo;
+                }
+            }
+            quantidadeCarros += fim - inicio;
+        }
+        
+        void combinar(Acumulador outro) {
+            quantidadeCarros += outro.quantidadeCarros;
+            combustivelConsumido += outro.combustivelConsumido;
+            distanciaPercorrida += outro.distanciaPercorrida;
+            tempoTotal += outro.tempoTotal;
+            tempoMotorLigado += outro.tempoMotorLigado;
+            tempoZonaVermelha += outro.tempoZonaVermelha;
+            garantirPosicoes(outro.tempoPorMarcha.length);
+            for (int p = 0; p < outro.tempoPorMarcha.length; p++) {
+                tempoPorMarcha[p] += outro.tempoPorMarcha[p];
+            }
+        }
+        
+        // Modelos diferentes podem ter quantidades de marchas diferentes
+        private void garantirPosicoes(int posicoes) {
+            if (tempoPorMarcha.length < posicoes) {
+                tempoPorMarcha = Arrays.copyOf(tempoPorMarcha, posicoes);
+            }
+        }
+    }
+}
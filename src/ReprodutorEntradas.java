@@ -0,0 +1,148 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Reproduz um DiarioEntradas em carros sem painel. Cada carro é atualizado com o passo
+// gravado no cabeçalho até o tick de cada comando, e então o comando é aplicado, como
+// aconteceu na execução original. Assinaturas gravadas no diário são conferidas no caminho.
+public class ReprodutorEntradas {
+    private static final int TAMANHO_BUFFER = 1 << 20;
+    
+    private final Path arquivo;
+    private final double deltaTempo;
+    private final IntFunction<Carro> fabricaCarros;
+    private final List<Carro> carros;
+    private long comandosAplicados;
+    private long assinaturasConferidas;
+    private long divergencias;
+    private long registrosInvalidos;
+    private long ultimoTick;
+    
+    // Construtor: os carros são recriados com a especificação padrão
+    public ReprodutorEntradas(Path arquivo) throws IOException {
+        this(arquivo, id -> Carro.criarSemPainel("Reprodução", EspecificacaoVeiculo.PADRAO, "Branco"));
+    }
+    
+    // Construtor com fábrica de carros, para diários de carros de outros modelos.
+    // A fábrica recebe o id do carro no diário e deve devolver um carro novo sem painel.
+    public ReprodutorEntradas(Path arquivo, IntFunction<Carro> fabricaCarros) throws IOException {
+        this.arquivo = arquivo;
+        this.fabricaCarros = fabricaCarros;
+        this.carros = new ArrayList<>();
+        
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(DiarioEntradas.TAMANHO_CABECALHO);
+            while (cabecalho.hasRemaining() && canal.read(cabecalho) >= 0) {
+                // Lê até completar o cabeçalho ou acabar o arquivo
+            }
+            cabecalho.flip();
+            if (cabecalho.remaining() < DiarioEntradas.TAMANHO_CABECALHO
+                    || cabecalho.getInt() != DiarioEntradas.MAGICO) {
+                throw new IOException("Arquivo não é um diário de entradas: " + arquivo);
+            }
+            int versao = cabecalho.getInt();
+            if (versao != DiarioEntradas.VERSAO) {
+                throw new IOException("Versão de diário não suportada: " + versao);
+            }
+            this.deltaTempo = cabecalho.getDouble();
+        }
+    }
+    
+    // Lê o diário inteiro aplicando os comandos; retorna o número de comandos aplicados.
+    // Um registro incompleto no fim do arquivo (gravação interrompida) é ignorado.
+    public long reproduzir() throws IOException {
+        long aplicadosAntes = comandosAplicados;
+        
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            canal.position(DiarioEntradas.TAMANHO_CABECALHO);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+            
+            while (canal.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= DiarioEntradas.TAMANHO_REGISTRO) {
+                    long tick = buffer.getLong();
+                    int idCarro = buffer.getInt();
+                    byte tipo = buffer.get();
+                    long valor = buffer.getLong();
+                    aplicarRegistro(tick, idCarro, tipo, valor);
+                }
+                buffer.compact();
+            }
+        }
+        return comandosAplicados - aplicadosAntes;
+    }
+    
+    private void aplicarRegistro(long tick, int idCarro, byte tipo, long valor) {
+        ultimoTick = Math.max(ultimoTick, tick);
+        
+        if (tipo == DiarioEntradas.TIPO_NOVO_CARRO) {
+            while (carros.size() <= idCarro) {
+                carros.add(null);
+            }
+            Carro carro = fabricaCarros.apply(idCarro);
+            carros.set(idCarro, carro);
+            avancarAte(carro, tick);
+            return;
+        }
+        
+        Carro carro = idCarro >= 0 && idCarro < carros.size() ? carros.get(idCarro) : null;
+        if (carro == null) {
+            registrosInvalidos++;
+            return;
+        }
+        
+        if (tipo == DiarioEntradas.TIPO_ASSINATURA) {
+            avancarAte(carro, tick);
+            assinaturasConferidas++;
+            if (carro.getEstado().calcularAssinatura() != valor) {
+                divergencias++;
+            }
+            return;
+        }
+        
+        ComandoMotorista comando = ComandoMotorista.deCodigo(tipo);
+        if (comando == null) {
+            registrosInvalidos++;
+            return;
+        }
+        avancarAte(carro, tick);
+        comando.aplicar(carro, Double.longBitsToDouble(valor));
+        comandosAplicados++;
+    }
+    
+    private void avancarAte(Carro carro, long tick) {
+        while (carro.getTick() < tick) {
+            carro.atualizar(deltaTempo);
+        }
+    }
+    
+    // Avança todos os carros até o tick informado, por exemplo o tick do incidente
+    public void avancarTodosAte(long tick) {
+        for (Carro carro : carros) {
+            if (carro != null) {
+                avancarAte(carro, tick);
+            }
+        }
+    }
+    
+    // Getters
+    public double getDeltaTempo() { return deltaTempo; }
+    public List<Carro> getCarros() { return carros; }
+    public Carro getCarro(int id) { return id >= 0 && id < carros.size() ? carros.get(id) : null; }
+    public long getComandosAplicados() { return comandosAplicados; }
+    public long getAssinaturasConferidas() { return assinaturasConferidas; }
+    public long getDivergencias() { return divergencias; }
+    public long getRegistrosInvalidos() { return registrosInvalidos; }
+    public long getUltimoTick() { return ultimoTick; }
+    
+    @Override
+    public String toString() {
+        return String.format("Reprodução: %d carros, %d comandos até o tick %d, %d/%d assinaturas divergentes",
+                           carros.size(), comandosAplicados, ultimoTick, divergencias, assinaturasConferidas);
+    }
+}
@@ -0,0 +1,51 @@
+public class ResumoSimulacao {
+    private final int passos;
+    private final double tempoSimulado;
+    private final double velocidadeFinal;
+    private final double velocidadeMaxima;
+    private final double distanciaPercorrida;
+    private final double combustivelConsumido;
+    private final double rpmFinal;
+    private final double rpmMaximo;
+    private final boolean motorLigado;
+    
+    // Construtor
+    public ResumoSimulacao(int passos, double tempoSimulado, double velocidadeFinal,
+                           double velocidadeMaxima, double distanciaPercorrida,
+                           double combustivelConsumido, double rpmFinal, double rpmMaximo,
+                           boolean motorLigado) {
+        this.passos = passos;
+        this.tempoSimulado = tempoSimulado;
+        this.velocidadeFinal = velocidadeFinal;
+        this.velocidadeMaxima = velocidadeMaxima;
+        this.distanciaPercorrida = distanciaPercorrida;
+        this.combustivelConsumido = combustivelConsumido;
+        this.rpmFinal = rpmFinal;
+        this.rpmMaximo = rpmMaximo;
+        this.motorLigado = motorLigado;
+    }
+    
+    // Getters
+    public int getPassos() { return passos; }
+    public double getTempoSimulado() { return tempoSimulado; }
+    public double getVelocidadeFinal() { return velocidadeFinal; }
+    public double getVelocidadeMaxima() { return velocidadeMaxima; }
+    public double getDistanciaPercorrida() { return distanciaPercorrida; }
+    public double getCombustivelConsumido() { return combustivelConsumido; }
+    public double getRpmFinal() { return rpmFinal; }
+    public double getRpmMaximo() { return rpmMaximo; }
+    public boolean isMotorLigado() { return motorLigado; }
+    
+    public double getVelocidadeMedia() {
+        if (tempoSimulado <= 0) return 0.0;
+        return distanciaPercorrida / (tempoSimulado / 3600.0); // km/h
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Simulação: %d passos (%.1f s), Distância: %.3f km, Velocidade final: %.1f km/h (máx %.1f), " +
+                           "RPM final: %.0f (máx %.0f), Combustível consumido: %.3f L, Motor: %s",
+                           passos, tempoSimulado, distanciaPercorrida, velocidadeFinal, velocidadeMaxima,
+                           rpmFinal, rpmMaximo, combustivelConsumido, motorLigado ? "LIGADO" : "DESLIGADO");
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.ByteBuffer;
+
 public class Roda {
     private double raio;
     private double velocidadeAngular;
@@ -8,7 +10,7 @@ public class Roda {
     private double coeficienteAtrito;
     
     // Constantes para cálculos físicos
-    private static final double COEFICIENTE_ATRITO_PADRAO = 0.7; // Atrito médio pneu/asfalto
+    static final double COEFICIENTE_ATRITO_PADRAO = 0.7; // Atrito médio pneu/asfalto
     private static final double INERCIA_RODA = 0.5; // Momento de inércia simplificado
     private static final double RESISTENCIA_ROLAMENTO = 0.015; // Resistência ao rolamento
     
@@ -23,6 +25,19 @@ public class Roda {
         this.forcaTracao = 0.0;
     }
     
+    // NOVO: Estado para o CheckpointFrota (32 bytes)
+    void salvarEstado(ByteBuffer buffer) {
+        buffer.putDouble(velocidadeAngular).putDouble(torqueRecebido)
+              .putDouble(velocidadeLinear).putDouble(forcaTracao);
+    }
+    
+    void restaurarEstado(ByteBuffer buffer) {
+        velocidadeAngular = buffer.getDouble();
+        torqueRecebido = buffer.getDouble();
+        velocidadeLinear = buffer.getDouble();
+        forcaTracao = buffer.getDouble();
+    }
+    
     // Getters
     public double getRaio() {
         return raio;
@@ -96,6 +111,11 @@ public class Roda {
     
     // Método principal para aplicar torque
     public void aplicarTorque(double torque) {
+        aplicarTorque(torque, 1.0);
+    }
+    
+    // NOVO: fatorPasso é a duração do passo em múltiplos do passo padrão de 50 ms
+    public void aplicarTorque(double torque, double fatorPasso) {
         this.torqueRecebido = torque;
         
         // Calcula força de tração: F = T / r
@@ -104,13 +124,10 @@ public class Roda {
         }
         
         // Limita a força de tração pelo atrito disponível
-        double forcaMaximaAtrito = calcularForcaMaximaAtrito();
-        if (this.forcaTracao > forcaMaximaAtrito) {
-            this.forcaTracao = forcaMaximaAtrito;
-        }
+        this.forcaTracao = limitarForcaTracao(forcaTracao, massaDoVeiculo, coeficienteAtrito);
         
         // Atualiza velocidade angular baseada no torque aplicado
-        atualizarVelocidadeAngular(torque);
+        this.velocidadeAngular = integrarVelocidadeAngular(velocidadeAngular, torque, raio, massaDoVeiculo, fatorPasso);
         
         // Recalcula velocidade linear
         calcularVelocidadeLinear();
@@ -121,6 +138,10 @@ public class Roda {
         aplicarTorque(torqueTransmitido);
     }
     
+    public void receberForca(double torqueTransmitido, double fatorPasso) {
+        aplicarTorque(torqueTransmitido, fatorPasso);
+    }
+    
     // Método para entregar velocidade linear (interface para o painel)
     public double entregarVelocidade() {
         return velocidadeLinear;
@@ -128,34 +149,59 @@ public class Roda {
     
     // Métodos auxiliares privados
     private void calcularVelocidadeLinear() {
+        this.velocidadeLinear = calcularVelocidadeLinear(velocidadeAngular, raio);
+    }
+    
+    static double calcularVelocidadeLinear(double velocidadeAngular, double raio) {
         // v = 2 * π * r * (RPM / 60)
-        this.velocidadeLinear = 2 * Math.PI * raio * (velocidadeAngular / 60.0);
+        return 2 * Math.PI * raio * (velocidadeAngular / 60.0);
+    }
+    
+    private double calcularForcaMaximaAtrito() {
+        return calcularForcaMaximaAtrito(massaDoVeiculo, coeficienteAtrito);
+    }
+    
+    // NOVO: Cálculos da roda sem estado, compartilhados com a FrotaCompacta
+    static double limitarForcaTracao(double forcaTracao, double massa, double coeficienteAtrito) {
+        double forcaMaximaAtrito = calcularForcaMaximaAtrito(massa, coeficienteAtrito);
+        return forcaTracao > forcaMaximaAtrito ? forcaMaximaAtrito : forcaTracao;
     }
     
-    private void atualizarVelocidadeAngular(double torque) {
+    static double integrarVelocidadeAngular(double velocidadeAngular, double torque, double raio, double massa,
+                                            double fatorPasso) {
         // Simulação simplificada da aceleração angular
         // Considera resistências e inércia
-        double torqueLiquido = torque - calcularTorqueResistencia();
-        double aceleracaoAngular = torqueLiquido / (INERCIA_RODA * massaDoVeiculo);
+        double torqueLiquido = torque - calcularTorqueResistencia(raio, massa);
+        double aceleracaoAngular = torqueLiquido / (INERCIA_RODA * massa);
         
-        // Atualiza velocidade angular (simplificado para 1 segundo)
-        this.velocidadeAngular += aceleracaoAngular * 9.55; // Conversão rad/s² para RPM/s
+        // Atualiza velocidade angular (simplificado para 1 segundo por passo padrão)
+        // 9.55 converte rad/s² para RPM/s; fatorPasso escala o ganho para passos diferentes do padrão
+        double novaVelocidade = velocidadeAngular + aceleracaoAngular * 9.55 * fatorPasso;
         
         // Garante que não seja negativa
-        if (this.velocidadeAngular < 0) {
-            this.velocidadeAngular = 0;
-        }
+        return Math.max(0, novaVelocidade);
     }
     
-    private double calcularForcaMaximaAtrito() {
+    static double reduzirPorResistenciaAr(double velocidadeAngular, double velocidadeLinear,
+                                          double coeficienteAerodinamico, double raio, double massa) {
+        // Resistência do ar aumenta com o quadrado da velocidade
+        double resistenciaAr = coeficienteAerodinamico * velocidadeLinear * velocidadeLinear;
+        double torqueResistenciaAr = resistenciaAr * raio;
+        
+        // Reduz velocidade angular devido à resistência
+        double reducaoRPM = torqueResistenciaAr / (INERCIA_RODA * massa) * 0.1;
+        return Math.max(0, velocidadeAngular - reducaoRPM);
+    }
+    
+    private static double calcularForcaMaximaAtrito(double massa, double coeficienteAtrito) {
         // F_max = μ * m * g (simplificado)
-        double peso = massaDoVeiculo * 9.81; // Aceleração da gravidade
+        double peso = massa * 9.81; // Aceleração da gravidade
         return coeficienteAtrito * peso;
     }
     
-    private double calcularTorqueResistencia() {
+    private static double calcularTorqueResistencia(double raio, double massa) {
         // Torque de resistência ao rolamento
-        double forcaResistencia = RESISTENCIA_ROLAMENTO * massaDoVeiculo * 9.81;
+        double forcaResistencia = RESISTENCIA_ROLAMENTO * massa * 9.81;
         return forcaResistencia * raio;
     }
     
@@ -183,13 +229,8 @@ public class Roda {
     }
     
     public void aplicarResistenciaAr(double coeficienteAerodinamico) {
-        // Resistência do ar aumenta com o quadrado da velocidade
-        double resistenciaAr = coeficienteAerodinamico * velocidadeLinear * velocidadeLinear;
-        double torqueResistenciaAr = resistenciaAr * raio;
-        
-        // Reduz velocidade angular devido à resistência
-        double reducaoRPM = torqueResistenciaAr / (INERCIA_RODA * massaDoVeiculo) * 0.1;
-        velocidadeAngular = Math.max(0, velocidadeAngular - reducaoRPM);
+        velocidadeAngular = reduzirPorResistenciaAr(velocidadeAngular, velocidadeLinear,
+                                                    coeficienteAerodinamico, raio, massaDoVeiculo);
         calcularVelocidadeLinear();
     }
     
@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Executa um motorista roteirizado por thread virtual, cada um controlando o próprio carro.
+// Um relógio compartilhado avança a física em passos fixos: a cada tick ele espera todos os
+// motoristas chegarem a aguardar() (ou terminarem), atualiza os carros e acorda quem deve agir.
+// Assim comandos e física nunca rodam ao mesmo tempo e o resultado não depende do escalonamento.
+public class SimulacaoMotoristas {
+    // Roteiro executado pelo motorista; deve chamar aguardar() para deixar o tempo passar
+    public interface Roteiro {
+        void conduzir(Motorista motorista) throws InterruptedException;
+    }
+    
+    private final List<Motorista> motoristas;
+    private final EscalonadorFrota escalonador;
+    private final AtomicInteger motoristasAtivos;
+    private volatile long tickAtual;
+    private volatile boolean encerrada;
+    private Thread threadRelogio;
+    private int falhas;
+    
+    // Construtor
+    public SimulacaoMotoristas() {
+        this.motoristas = new ArrayList<>();
+        this.escalonador = new EscalonadorFrota();
+        this.motoristasAtivos = new AtomicInteger();
+        this.tickAtual = 0;
+        this.encerrada = false;
+        this.falhas = 0;
+    }
+    
+    // Registra um motorista para o carro; só aceita carros sem painel
+    public Motorista adicionarMotorista(Carro carro, Roteiro roteiro) {
+        if (roteiro == null || !escalonador.adicionar(carro)) {
+            return null;
+        }
+        Motorista motorista = new Motorista(carro, roteiro);
+        motoristas.add(motorista);
+        return motorista;
+    }
+    
+    // Inicia todos os motoristas e avança o relógio pelo número de ticks pedido
+    public void executar(int ticks, double deltaTempo) throws InterruptedException {
+        threadRelogio = Thread.currentThread();
+        encerrada = false;
+        motoristasAtivos.set(motoristas.size());
+        
+        Thread.Builder construtor = Thread.ofVirtual().name("motorista-", 0);
+        for (Motorista motorista : motoristas) {
+            motorista.thread = construtor.start(motorista::executarRoteiro);
+        }
+        
+        try {
+            for (int i = 0; i < ticks; i++) {
+                aguardarMotoristas();
+                escalonador.passo(deltaTempo);
+                tickAtual++;
+                acordarMotoristas();
+            }
+            aguardarMotoristas();
+        } finally {
+            encerrar();
+        }
+    }
+    
+    // Espera até que nenhum motorista esteja executando comandos
+    private void aguardarMotoristas() throws InterruptedException {
+        while (motoristasAtivos.get() > 0) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+    
+    private void acordarMotoristas() {
+        long tick = tickAtual;
+        for (Motorista motorista : motoristas) {
+            if (motorista.esperando && motorista.tickAlvo <= tick) {
+                motorista.esperando = false;
+                motoristasAtivos.incrementAndGet();
+                LockSupport.unpark(motorista.thread);
+            }
+        }
+    }
+    
+    // Interrompe os motoristas que ainda aguardam e espera suas threads terminarem
+    private void encerrar() throws InterruptedException {
+        encerrada = true;
+        for (Motorista motorista : motoristas) {
+            if (motorista.thread != null) {
+                motorista.thread.interrupt();
+            }
+        }
+        for (Motorista motorista : motoristas) {
+            if (motorista.thread != null) {
+                motorista.thread.join();
+            }
+        }
+        escalonador.encerrar();
+    }
+    
+    private void motoristaParou() {
+        if (motoristasAtivos.decrementAndGet() == 0) {
+            LockSupport.unpark(threadRelogio);
+        }
+    }
+    
+    private synchronized void registrarFalha(Exception e) {
+        falhas++;
+        System.err.println("Erro no roteiro do motorista: " + e.getMessage());
+    }
+    
+    // Getters
+    public long getTickAtual() { return tickAtual; }
+    public int getQuantidadeMotoristas() { return motoristas.size(); }
+    public synchronized int getFalhas() { return falhas; }
+    
+    // Motorista controlando um único carro
+    public class Motorista {
+        private final Carro carro;
+        private final Roteiro roteiro;
+        private Thread thread;
+        private volatile boolean esperando;
+        private volatile long tickAlvo;
+        private volatile boolean terminou;
+        
+        private Motorista(Carro carro, Roteiro roteiro) {
+            this.carro = carro;
+            this.roteiro = roteiro;
+        }
+        
+        private void executarRoteiro() {
+            try {
+                roteiro.conduzir(this);
+            } catch (InterruptedException e) {
+                // Simulação encerrada enquanto o motorista aguardava
+            } catch (Exception e) {
+                registrarFalha(e);
+            } finally {
+                terminou = true;
+                if (!encerrada) {
+                    motoristaParou();
+                }
+            }
+        }
+        
+        // Deixa a física avançar o número de ticks informado antes do próximo comando
+        public void aguardar(int ticks) throws InterruptedException {
+            if (encerrada) {
+                throw new InterruptedException();
+            }
+            
+            tickAlvo = tickAtual + Math.max(1, ticks);
+            esperando = true;
+            motoristaParou();
+            
+            while (esperando) {
+                LockSupport.park(this);
+                if (Thread.interrupted() || encerrada) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        
+        // Comandos repassados ao carro
+        public void ligar() { carro.ligar(); }
+        public void desligar() { carro.desligar(); }
+        public void acelerar() { carro.acelerar(); }
+        public void frear() { carro.frear(); }
+        public boolean subirMarcha() { return carro.subirMarcha(); }
+        public boolean descerMarcha() { return carro.descerMarcha(); }
+        public boolean colocarNeutro() { return carro.colocarNeutro(); }
+        public boolean colocarMarchaRe() { return carro.colocarMarchaRe(); }
+        public boolean abastecer(double litros) { return carro.abastecer(litros); }
+        
+        // Getters
+        public Carro getCarro() { return carro; }
+        public EstadoCarro getEstado() { return carro.getEstado(); }
+        public long getTick() { return tickAtual; }
+        public boolean terminou() { return terminou; }
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.ByteBuffer;
+
 public class Tanque {
     private double capacidadeMaxima;
     private double nivelAtual;
@@ -14,6 +16,15 @@ public class Tanque {
         setNivelAtual(nivelInicial); // Usa o setter para validar
     }
     
+    // NOVO: Estado para o CheckpointFrota (8 bytes)
+    void salvarEstado(ByteBuffer buffer) {
+        buffer.putDouble(nivelAtual);
+    }
+    
+    void restaurarEstado(ByteBuffer buffer) {
+        nivelAtual = buffer.getDouble();
+    }
+    
     // Getters
     public double getCapacidadeMaxima() {
         return capacidadeMaxima;
@@ -0,0 +1,164 @@
+import java.lang.management.ManagementFactory;
+
+// Benchmarks do caminho crítico da física, para servir de referência antes de otimizações.
+// Cada caso é aquecido e depois medido em várias iterações; o relatório mostra o tempo
+// médio por operação e os bytes alocados por operação, somando todas as threads vivas
+// (medidos pelo ThreadMXBean da JVM, o mesmo dado usado pelo profiler de GC do JMH).
+// Fica em test/, fora do código da aplicação; é compilado junto com os testes.
+// Uso: java -cp build/classes:build/test/classes BenchmarkFisica [tamanhos de frota...]   (padrão: 1000 10000 100000)
+public class BenchmarkFisica {
+    private static final int ITERACOES_AQUECIMENTO = 5;
+    private static final int ITERACOES_MEDICAO = 5;
+    private static final long DURACAO_ITERACAO_NS = 500_000_000L;
+    
+    // Evita que o JIT elimine cálculos cujo resultado não é usado
+    private static volatile double sumidouro;
+    
+    // Uma operação medida; o valor retornado vai para o sumidouro
+    private interface Operacao {
+        double executar();
+    }
+    
+    public static void main(String[] args) {
+        int[] tamanhosFrota = {1000, 10000, 100000};
+        if (args.length > 0) {
+            tamanhosFrota = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                tamanhosFrota[i] = Integer.parseInt(args[i]);
+            }
+        }
+        
+        System.out.println("=== BENCHMARK DA FÍSICA DO VEÍCULO ===");
+        System.out.printf("%-40s %14s %12s%n", "Caso", "ns/op", "B/op");
+        
+        Carro carro = criarCarroRodando();
+        Motor motor = carro.getMotor();
+        CaixaDeMarcha caixa = carro.getCaixaDeMarcha();
+        Roda roda = carro.getRoda();
+        
+        medir("Motor.gerarTorque", 1, motor::gerarTorque);
+        medir("Motor.atualizar", 1, () -> {
+            reabastecerSeNecessario(carro);
+            motor.atualizar(0.05);
+            return motor.getTorque();
+        });
+        medir("CaixaDeMarcha.aplicarTransmissao", 1, caixa::aplicarTransmissao);
+        medir("Roda.aplicarTorque", 1, () -> {
+            roda.aplicarTorque(500.0);
+            roda.setVelocidadeAngular(1000.0);
+            return roda.getVelocidadeLinear();
+        });
+        medir("Carro.atualizar", 1, () -> {
+            reabastecerSeNecessario(carro);
+            carro.atualizar(0.05);
+            return carro.getVelocidadeAtual();
+        });
+        
+        for (int tamanho : tamanhosFrota) {
+            medirEscalonador(tamanho);
+            medirFrotaCompacta(tamanho);
+        }
+    }
+    
+    private static void medirEscalonador(int tamanho) {
+        EscalonadorFrota escalonador = new EscalonadorFrota();
+        for (int i = 0; i < tamanho; i++) {
+            escalonador.adicionar(criarCarroRodando());
+        }
+        medir("EscalonadorFrota.passo [" + tamanho + "]", tamanho, () -> {
+            escalonador.passo(0.05);
+            if (escalonador.getTicks() % 1000 == 0) {
+                for (Carro carro : escalonador.getCarros()) {
+                    reabastecerSeNecessario(carro);
+                }
+            }
+            return escalonador.getTicks();
+        });
+        escalonador.encerrar();
+    }
+    
+    private static void medirFrotaCompacta(int tamanho) {
+        FrotaCompacta frota = new FrotaCompacta(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            frota.adicionarCarro(frota.getCapacidadeTanque(i));
+            frota.ligar(i);
+            for (int j = 0; j < 25; j++) {
+                frota.acelerar(i);
+            }
+        }
+        final int[] ticks = {0};
+        medir("FrotaCompacta.passo [" + tamanho + "]", tamanho, () -> {
+            frota.passo(0.05);
+            if (++ticks[0] % 1000 == 0) {
+                for (int i = 0; i < frota.getTamanho(); i++) {
+                    frota.abastecer(i, frota.getCapacidadeTanque(i));
+                    frota.ligar(i);
+                }
+            }
+            return frota.getRpm(0);
+        });
+    }
+    
+    // Executa aquecimento e medição e imprime o resultado por operação
+    private static void medir(String nome, int operacoesPorChamada, Operacao operacao) {
+        for (int i = 0; i < ITERACOES_AQUECIMENTO; i++) {
+            executarIteracao(operacao);
+        }
+        
+        long chamadasTotais = 0;
+        long tempoTotal = 0;
+        long bytesTotais = 0;
+        for (int i = 0; i < ITERACOES_MEDICAO; i++) {
+            long bytesAntes = bytesAlocados();
+            long inicio = System.nanoTime();
+            long chamadas = executarIteracao(operacao);
+            tempoTotal += System.nanoTime() - inicio;
+            bytesTotais += bytesAlocados() - bytesAntes;
+            chamadasTotais += chamadas;
+        }
+        
+        double operacoes = (double) chamadasTotais * operacoesPorChamada;
+        double bytesPorOperacao = bytesAlocados() < 0 ? Double.NaN : bytesTotais / operacoes;
+        System.out.printf("%-40s %14.2f %12.2f%n", nome, tempoTotal / operacoes, bytesPorOperacao);
+    }
+    
+    private static long executarIteracao(Operacao operacao) {
+        long chamadas = 0;
+        double acumulado = 0;
+        long limite = System.nanoTime() + DURACAO_ITERACAO_NS;
+        do {
+            for (int i = 0; i < 64; i++) {
+                acumulado += operacao.executar();
+            }
+            chamadas += 64;
+        } while (System.nanoTime() < limite);
+        sumidouro = acumulado;
+        return chamadas;
+    }
+    
+    // Bytes alocados por todas as threads vivas; -1 se a JVM não oferece a medição
+    private static long bytesAlocados() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+    
+    private static Carro criarCarroRodando() {
+        Carro carro = Carro.criarSemPainel("Bench", "Sedan", "Branco");
+        carro.abastecer(carro.getCapacidadeTanque());
+        carro.ligar();
+        carro.subirMarcha();
+        for (int i = 0; i < 25; i++) {
+            carro.acelerar();
+        }
+        return carro;
+    }
+    
+    private static void reabastecerSeNecessario(Carro carro) {
+        if (carro.getNivelCombustivel() < 5.0) {
+            carro.abastecer(carro.getCapacidadeTanque());
+            carro.ligar();
+        }
+    }
+}